@@ -0,0 +1,47 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Cost of writing an order response with Jackson, configured like the application's
+ * {@code ObjectMapper}, for orders of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OrderViewSerializationBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int items;
+
+    private ObjectWriter writer;
+    private OrderView order;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(OrderView.class);
+        order = new OrderView(1L, 1L, OrderStatus.CREATED, LocalDateTime.now(),
+                new BigDecimal("39.98").multiply(BigDecimal.valueOf(items)), items * 2,
+                LongStream.rangeClosed(1, items)
+                        .mapToObj(id -> new OrderItemView(1L, id, id, "Product " + id, new BigDecimal("19.99"), 2))
+                        .toList());
+    }
+
+    @Benchmark
+    public byte[] writeAsBytes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(order);
+    }
+}
@@ -0,0 +1,61 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.openjdk.jmh.annotations.*;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Order;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Domain.Models.CreateOrderRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderItemRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Cost of the in-memory part of {@code createOrder}: building the {@code Order} and
+ * {@code OrderItem} graph from the request and mapping the saved order to its response view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OrderAssemblyBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int items;
+
+    private User user;
+    private CreateOrderRequest request;
+    private Map<Long, Product> products;
+    private Order order;
+
+    @Setup
+    public void setup() {
+        user = User.builder().id(1L).name("Buyer").email("buyer@example.com").role(Role.ROLE_USER).build();
+        products = LongStream.rangeClosed(1, items)
+                .mapToObj(id -> Product.builder().id(id).name("Product " + id).price(new BigDecimal("19.99")).build())
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        request = new CreateOrderRequest(user.getId(), LongStream.rangeClosed(1, items)
+                .mapToObj(id -> new OrderItemRequest(id, 2))
+                .toList());
+        order = OrderService.buildOrder(user, request, products, Set.of());
+        order.setId(1L);
+    }
+
+    @Benchmark
+    public Order buildOrder() {
+        return OrderService.buildOrder(user, request, products, Set.of());
+    }
+
+    @Benchmark
+    public OrderView toView() {
+        return OrderView.from(order);
+    }
+}
@@ -0,0 +1,68 @@
+package org.whiletrue.ordermanagementsystem.Services.Security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and checking a token, which every authenticated request pays in {@code JwtFilter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtServiceBenchmark {
+
+    @Param({"false", "true"})
+    private boolean stateless;
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secret", "testverysecuritykey");
+        ReflectionTestUtils.setField(jwtService, "expiration", Duration.ofHours(3));
+        ReflectionTestUtils.setField(jwtService, "stateless", stateless);
+        user = User.builder()
+                .id(7L)
+                .email("user@example.com")
+                .password("hash")
+                .role(Role.ROLE_USER)
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    /**
+     * What {@code JwtFilter} does per request: parse once, then validate the parsed claims.
+     */
+    @Benchmark
+    public boolean parseAndValidateClaims() {
+        Claims claims = jwtService.parseToken(token);
+        return jwtService.isTokenValid(claims, user);
+    }
+}
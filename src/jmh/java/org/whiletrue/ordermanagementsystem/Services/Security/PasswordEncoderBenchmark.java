@@ -0,0 +1,40 @@
+package org.whiletrue.ordermanagementsystem.Services.Security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of hashing and checking a password with BCrypt at different strengths; each step
+ * doubles it. Login pays one {@code matches} and registration one {@code encode}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class PasswordEncoderBenchmark {
+
+    @Param({"4", "8", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode("secret");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("secret");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("secret", hash);
+    }
+}
@@ -0,0 +1,108 @@
+package org.whiletrue.ordermanagementsystem.Configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Filter that caps the number of requests processed at the same time.
+ * <p>
+ * Without it, requests beyond the connection pool size queue up inside HikariCP waiting for
+ * one of its few connections and fail with connection timeouts; with virtual threads, which the
+ * servlet container does not bound, thousands of them can. The number of permits defaults to
+ * the connection pool size. At most {@code concurrency-limit.max-queued} requests wait for a
+ * permit, and further requests, as well as those that cannot get a permit within the acquire
+ * timeout, are answered with 503 and a {@code Retry-After} header. Runs before the security
+ * filters, since authentication may already need a connection.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int maxQueued;
+    private final Duration acquireTimeout;
+    private final AtomicInteger queued = new AtomicInteger();
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    /**
+     * Constructs the filter.
+     *
+     * @param maxConcurrent   Maximum number of requests processed at the same time.
+     * @param maxQueued       Maximum number of requests waiting for a permit.
+     * @param acquireTimeout  How long a request may wait for a permit before it is rejected.
+     */
+    @Autowired
+    public ConcurrencyLimitFilter(@Value("${concurrency-limit.max-concurrent}") int maxConcurrent,
+                                  @Value("${concurrency-limit.max-queued}") int maxQueued,
+                                  @Value("${concurrency-limit.acquire-timeout}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxQueued = maxQueued;
+        this.acquireTimeout = acquireTimeout;
+        logger.info("Limiting concurrent requests to {} with up to {} waiting (acquire timeout {})",
+                maxConcurrent, maxQueued, acquireTimeout);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!acquire()) {
+            logger.warn("Rejecting {} {}: concurrency limit reached", request.getMethod(), request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is at capacity, retry later");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        // Shed the request right away when enough requests are already waiting
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return false;
+        }
+        try {
+            return permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of requests that can currently start without waiting.
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
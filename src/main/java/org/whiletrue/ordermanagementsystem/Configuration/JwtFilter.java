@@ -1,9 +1,15 @@
 package org.whiletrue.ordermanagementsystem.Configuration;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.whiletrue.ordermanagementsystem.Services.Security.JwtService;
+import org.whiletrue.ordermanagementsystem.Services.Security.PrincipalCache;
+import org.whiletrue.ordermanagementsystem.Services.Security.TokenRevocationList;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -14,12 +20,15 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Filter responsible for handling JWT authentication for each incoming HTTP request.
  * <p>
  * This filter checks the "Authorization" header for a valid Bearer token.
  * If the token is present and valid, the user is authenticated and the security context is updated.
+ * An expired or malformed token is answered with 401, which tells clients to renew their access
+ * token at {@code /auth/refresh}.
  * <p>
  * The filter runs once per request by extending {@link OncePerRequestFilter}.
  */
@@ -28,24 +37,32 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
 
     /**
      * Constructs the JwtFilter with required dependencies.
      *
-     * @param jwtService          Service for extracting and validating JWT tokens.
-     * @param userDetailsService  Spring Security service for loading user details from username.
+     * @param jwtService           Service for extracting and validating JWT tokens.
+     * @param userDetailsService   Spring Security service for loading user details from username.
+     * @param principalCache       Cache of recently loaded user details, keyed by username.
+     * @param tokenRevocationList  Subjects whose stateless tokens are no longer accepted.
      */
     @Autowired
-    public JwtFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtFilter(JwtService jwtService, UserDetailsService userDetailsService, PrincipalCache principalCache,
+                     TokenRevocationList tokenRevocationList) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     /**
      * Filters incoming requests to extract and validate the JWT token from the Authorization header.
      * <p>
      * If a valid token is found and the user is not yet authenticated, this method sets the authentication
-     * context for the current request. Otherwise, the request continues without authentication.
+     * context for the current request. A token that cannot be parsed, for example because it has expired,
+     * ends the request with 401. Without a token, the request continues without authentication.
      *
      * @param request     The incoming HTTP request.
      * @param response    The outgoing HTTP response.
@@ -65,20 +82,40 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Extract token and validate
+        // Parse the token once and reuse its claims
         String token = authHeader.substring(7);
-        String username = jwtService.extractUsername(token);
+        Claims claims;
+        try {
+            claims = jwtService.parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), "Invalid or expired token");
+            return;
+        }
+        String username = claims.getSubject();
 
         // Authenticate user if token is valid and not already authenticated
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(token, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            Optional<UserDetails> statelessPrincipal = jwtService.principalFromClaims(claims);
+            if (statelessPrincipal.isPresent()) {
+                // Stateless mode: trust the signed claims unless the subject was revoked
+                if (!tokenRevocationList.isRevoked(claims)) {
+                    authenticate(statelessPrincipal.get());
+                }
+            } else {
+                UserDetails userDetails = principalCache.get(username, userDetailsService::loadUserByUsername);
+                if (jwtService.isTokenValid(claims, userDetails)) {
+                    authenticate(userDetails);
+                }
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(UserDetails userDetails) {
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
@@ -0,0 +1,77 @@
+package org.whiletrue.ordermanagementsystem.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.whiletrue.ordermanagementsystem.Services.OptimisticLockRetry;
+import org.whiletrue.ordermanagementsystem.Services.ProductCatalogCache;
+import org.whiletrue.ordermanagementsystem.Services.Security.AdaptivePasswordEncoder;
+import org.whiletrue.ordermanagementsystem.Services.Security.PrincipalCache;
+
+/**
+ * Publishes the statistics the application already keeps as meters, so they can be scraped
+ * together with the actuator metrics instead of being read from the stats endpoints.
+ * HikariCP pool gauges ({@code hikaricp.connections.*}) are registered by Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder catalogCacheMetrics(ProductCatalogCache catalogCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", catalogCache, cache -> cache.stats().hits())
+                    .tags("cache", "catalog", "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", catalogCache, cache -> cache.stats().misses())
+                    .tags("cache", "catalog", "result", "miss")
+                    .register(registry);
+            Gauge.builder("cache.size", catalogCache, cache -> cache.stats().size())
+                    .tag("cache", "catalog")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder principalCacheMetrics(PrincipalCache principalCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", principalCache, cache -> cache.stats().hits())
+                    .tags("cache", "principal", "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", principalCache, cache -> cache.stats().misses())
+                    .tags("cache", "principal", "result", "miss")
+                    .register(registry);
+            Gauge.builder("cache.size", principalCache, cache -> cache.stats().size())
+                    .tag("cache", "principal")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder optimisticLockMetrics(OptimisticLockRetry optimisticLockRetry) {
+        return registry -> {
+            FunctionCounter.builder("optimistic.lock.conflicts", optimisticLockRetry, OptimisticLockRetry::conflicts)
+                    .description("Update attempts that lost an optimistic locking race")
+                    .register(registry);
+            FunctionCounter.builder("optimistic.lock.exhausted", optimisticLockRetry, OptimisticLockRetry::exhausted)
+                    .description("Updates that ran out of retries")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(AdaptivePasswordEncoder passwordEncoder) {
+        return registry -> {
+            Gauge.builder("security.password.hashing.queued", passwordEncoder, AdaptivePasswordEncoder::queued)
+                    .description("Password hashes waiting for a hashing thread")
+                    .register(registry);
+            FunctionCounter.builder("security.password.hashing.rejected", passwordEncoder, AdaptivePasswordEncoder::rejected)
+                    .description("Password hashes rejected because too many were waiting")
+                    .register(registry);
+            Gauge.builder("security.password.bcrypt.strength", passwordEncoder, AdaptivePasswordEncoder::strength)
+                    .description("BCrypt cost of new password hashes")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package org.whiletrue.ordermanagementsystem.Configuration;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Interceptor that limits how often each caller may call each endpoint, so one client polling
+ * in a tight loop cannot take the connection pool away from everyone else.
+ * <p>
+ * Every pair of caller and route, such as {@code GET /orders/user/{userId}}, has a token bucket
+ * that holds up to {@code rate-limit.burst} requests and refills at
+ * {@code rate-limit.requests-per-second}. Callers are identified by the subject of their token,
+ * or by their address before they log in. A request that finds its bucket empty is answered
+ * with 429 and a {@code Retry-After} header. Runs after authentication and handler mapping,
+ * since it needs both the subject and the route.
+ * <p>
+ * A bucket is a single {@link AtomicLong} holding the time at which it will be full again, and
+ * is updated by compare-and-set, so concurrent requests never wait for each other. Full buckets
+ * carry no state and are dropped every {@code rate-limit.sweep-interval}.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true")
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final long refillNanos;
+    private final long capacityNanos;
+    private final Clock clock;
+    private final ConcurrentMap<Key, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    /**
+     * Constructs the interceptor.
+     *
+     * @param requestsPerSecond How many requests per second each caller may make to each route.
+     * @param burst             How many requests each caller may make to each route at once.
+     */
+    @Autowired
+    public RateLimitInterceptor(@Value("${rate-limit.requests-per-second:20}") double requestsPerSecond,
+                                @Value("${rate-limit.burst:40}") int burst) {
+        this(requestsPerSecond, burst, Clock.systemUTC());
+        logger.info("Limiting each caller to {} request(s)/s per route with bursts of {}", requestsPerSecond, burst);
+    }
+
+    RateLimitInterceptor(double requestsPerSecond, int burst, Clock clock) {
+        this.refillNanos = Math.max(1, Math.round(1_000_000_000 / requestsPerSecond));
+        this.capacityNanos = refillNanos * burst;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Key key = new Key(subject(request), request.getMethod() + " " + (route == null ? request.getRequestURI() : route));
+
+        long waitNanos = tryAcquire(key);
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000);
+        logger.debug("Rejecting {} for {}: rate limit reached, retry after {}s", key.route(), key.subject(), retryAfterSeconds);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests, retry later");
+        return false;
+    }
+
+    /**
+     * Takes one request out of the bucket of the given key.
+     *
+     * @return 0 if the request is allowed, otherwise how many nanoseconds until it would be.
+     */
+    private long tryAcquire(Key key) {
+        long now = nanos();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + refillNanos;
+            if (next - now > capacityNanos) {
+                return next - now - capacityNanos;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that have refilled completely, which behave like new ones.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:1m}")
+    public void sweep() {
+        long now = nanos();
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+    }
+
+    /**
+     * Returns the number of buckets that are not full.
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    private long nanos() {
+        Instant now = clock.instant();
+        return now.getEpochSecond() * 1_000_000_000 + now.getNano();
+    }
+
+    private static String subject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    private record Key(String subject, String route) {}
+}
@@ -0,0 +1,69 @@
+package org.whiletrue.ordermanagementsystem.Configuration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Filter that counts the repository calls made while handling a request and records them in
+ * the {@code http.server.requests.repository.calls} distribution, tagged like
+ * {@code http.server.requests}. A rising count for an endpoint usually means an N+1 regression.
+ * <p>
+ * Calls are counted by {@link MetricsAspect} on the request thread. Runs right after the
+ * concurrency limit and before the security filters, so loading the principal is counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RepositoryCallMetricsFilter extends OncePerRequestFilter {
+
+    private static final ThreadLocal<int[]> CALLS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public RepositoryCallMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Counts one repository call against the request handled by the current thread, if any.
+     */
+    static void recordCall() {
+        int[] calls = CALLS.get();
+        if (calls != null) {
+            calls[0]++;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        int[] calls = new int[1];
+        CALLS.set(calls);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CALLS.remove();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.requests.repository.calls")
+                    .description("Repository calls made while handling a request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(calls[0]);
+        }
+    }
+}
@@ -3,18 +3,25 @@ package org.whiletrue.ordermanagementsystem.Controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
 import org.whiletrue.ordermanagementsystem.Services.Security.JwtService;
+import org.whiletrue.ordermanagementsystem.Services.Security.RefreshTokenService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.whiletrue.ordermanagementsystem.Domain.Models.Security.AuthResponse;
 import org.whiletrue.ordermanagementsystem.Domain.Models.Security.LoginRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.Security.RefreshRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.Security.RefreshedSession;
 import org.whiletrue.ordermanagementsystem.Domain.Models.Security.RegisterRequest;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
 import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.PasswordHashingBusyException;
 
 @RestController
 @RequestMapping("/auth")
@@ -24,13 +31,16 @@ public class AuthController {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
 
     @Autowired
-    public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService, AuthenticationManager authenticationManager){
+    public AuthController(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService,
+                          AuthenticationManager authenticationManager, RefreshTokenService refreshTokenService){
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
     }
 
 
@@ -44,18 +54,53 @@ public class AuthController {
                 .build();
 
         userRepository.save(user);
-        String jwt = jwtService.generateToken(user);
-        return ResponseEntity.ok(new AuthResponse(jwt));
+        return ResponseEntity.ok(tokens(user, refreshTokenService.issue(user)));
     }
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.email(), request.password())
         );
 
-        User user = userRepository.findByEmail(request.email()).orElseThrow();
-        String jwt = jwtService.generateToken(user);
-        return ResponseEntity.ok(new AuthResponse(jwt));
+        // the principal is the user loaded for the password check
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(tokens(user, refreshTokenService.issue(user)));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token, without
+     * checking the password again. The presented refresh token can not be used again.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest request) {
+        if (request.refreshToken() == null || request.refreshToken().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        RefreshedSession session = refreshTokenService.rotate(request.refreshToken());
+        return ResponseEntity.ok(tokens(session.user(), session.refreshToken()));
+    }
+
+    /**
+     * Ends the session of a refresh token. Access tokens already issued stay valid until they expire.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshRequest request) {
+        if (request.refreshToken() == null || request.refreshToken().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        refreshTokenService.revoke(request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    private AuthResponse tokens(User user, String refreshToken) {
+        return new AuthResponse(jwtService.generateToken(user), refreshToken, jwtService.getExpiration().toSeconds());
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> passwordHashingBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
     }
 }
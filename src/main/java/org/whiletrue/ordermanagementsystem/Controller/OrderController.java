@@ -1,34 +1,70 @@
 package org.whiletrue.ordermanagementsystem.Controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
-import org.whiletrue.ordermanagementsystem.Domain.Entity.Order;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Models.BulkOrderResponse;
 import org.whiletrue.ordermanagementsystem.Domain.Models.CreateOrderRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderPage;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.StatusChangeRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.StatusChangeResponse;
+import org.whiletrue.ordermanagementsystem.Services.BulkOrderService;
+import org.whiletrue.ordermanagementsystem.Services.IdempotencyService;
 import org.whiletrue.ordermanagementsystem.Services.OrderService;
+import org.whiletrue.ordermanagementsystem.Services.OrderStatusService;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
     private final OrderService orderService;
+    private final BulkOrderService bulkOrderService;
+    private final IdempotencyService idempotencyService;
+    private final OrderStatusService orderStatusService;
 
     @Autowired
-    public OrderController(OrderService orderService){
+    public OrderController(OrderService orderService, BulkOrderService bulkOrderService,
+                           IdempotencyService idempotencyService, OrderStatusService orderStatusService){
         this.orderService = orderService;
+        this.bulkOrderService = bulkOrderService;
+        this.idempotencyService = idempotencyService;
+        this.orderStatusService = orderStatusService;
     }
 
     @PostMapping("/createOrder")
-    public ResponseEntity<Order> createOrder(@RequestBody @Valid CreateOrderRequest request) {
-        return ResponseEntity.ok(orderService.createOrder(request));
+    public ResponseEntity<OrderView> createOrder(@RequestBody @Valid CreateOrderRequest request,
+                                                 @RequestHeader(value = "Idempotency-Key", required = false)
+                                                 @Size(max = 200) String idempotencyKey,
+                                                 @AuthenticationPrincipal UserDetails principal) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ResponseEntity.ok(OrderView.from(orderService.createOrder(request)));
+        }
+        return ResponseEntity.ok(idempotencyService.createOrder(principal.getUsername(), idempotencyKey, request));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkOrderResponse> createOrdersFromNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkOrderService.importNdjson(body));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkOrderResponse> createOrdersFromJsonArray(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkOrderService.importJsonArray(body));
     }
 
     @GetMapping("/getOrder/{id}")
-    public ResponseEntity<Order> getOrder(@PathVariable Long id) {
-        return ResponseEntity.ok(orderService.getOrder(id));
+    public ResponseEntity<OrderView> getOrder(@PathVariable Long id) {
+        return ResponseEntity.ok(orderService.getOrderView(id));
     }
 
     @DeleteMapping("/cancelOrder/{id}")
@@ -37,8 +73,21 @@ public class OrderController {
         return ResponseEntity.noContent().build();
     }
 
+    @PutMapping("/changeStatus/{id}")
+    public ResponseEntity<Void> changeStatus(@PathVariable Long id, @RequestParam OrderStatus status) {
+        orderStatusService.changeStatus(id, status);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/changeStatus")
+    public ResponseEntity<StatusChangeResponse> changeStatuses(@RequestBody @Valid StatusChangeRequest request) {
+        return ResponseEntity.ok(orderStatusService.changeStatuses(request.orderIds(), request.status()));
+    }
+
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Order>> getUserOrders(@PathVariable Long userId) {
-        return ResponseEntity.ok(orderService.getOrdersByUser(userId));
+    public ResponseEntity<OrderPage> getUserOrders(@PathVariable Long userId,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderService.getOrdersByUser(userId, cursor, size));
     }
 }
\ No newline at end of file
@@ -1,11 +1,17 @@
 package org.whiletrue.ordermanagementsystem.Controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Models.CatalogCacheStats;
 import org.whiletrue.ordermanagementsystem.Domain.Models.CreateProductRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.ProductPage;
+import org.whiletrue.ordermanagementsystem.Domain.Models.UpdateProductRequest;
 import org.whiletrue.ordermanagementsystem.Services.ProductService;
 
 import java.util.List;
@@ -31,6 +37,45 @@ public class ProductController {
         return ResponseEntity.ok(productService.getAllProducts());
     }
 
+    @GetMapping("/getProducts")
+    public ResponseEntity<ProductPage> getProducts(@RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(productService.getProducts(page, size));
+    }
+
+    @GetMapping("/getProductsAfter")
+    public ResponseEntity<ProductPage> getProductsAfter(@RequestParam(required = false) Long afterId,
+                                                        @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(productService.getProductsAfter(afterId, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<Product>> searchProducts(@RequestParam String q,
+                                                        @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(productService.searchProducts(q, limit));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        return ResponseEntity.ok(productService::exportProducts);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CatalogCacheStats> getCatalogCacheStats() {
+        return ResponseEntity.ok(productService.getCatalogCacheStats());
+    }
+
+    @PutMapping("/updateProduct/{id}")
+    public ResponseEntity<Product> updateProduct(@PathVariable Long id, @RequestBody @Valid UpdateProductRequest request) {
+        return ResponseEntity.ok(productService.updateProduct(id, request));
+    }
+
+    @PutMapping("/addStock/{id}")
+    public ResponseEntity<Void> addStock(@PathVariable Long id, @RequestParam @Positive int quantity) {
+        productService.addStock(id, quantity);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/deleteProduct/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
         productService.deleteProduct(id);
@@ -0,0 +1,49 @@
+package org.whiletrue.ordermanagementsystem.Controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.UserOrderStats;
+import org.whiletrue.ordermanagementsystem.Domain.Models.DailyRevenueView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderStatusSummary;
+import org.whiletrue.ordermanagementsystem.Domain.Models.UserOrderStatsPage;
+import org.whiletrue.ordermanagementsystem.Services.OrderSummaryService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/reports")
+public class ReportController {
+
+    private final OrderSummaryService orderSummaryService;
+
+    @Autowired
+    public ReportController(OrderSummaryService orderSummaryService) {
+        this.orderSummaryService = orderSummaryService;
+    }
+
+    @GetMapping("/getOrdersByStatus")
+    public ResponseEntity<OrderStatusSummary> getOrdersByStatus() {
+        return ResponseEntity.ok(orderSummaryService.getStatusSummary());
+    }
+
+    @GetMapping("/getUserStats/{userId}")
+    public ResponseEntity<UserOrderStats> getUserStats(@PathVariable Long userId) {
+        return ResponseEntity.ok(orderSummaryService.getUserStats(userId));
+    }
+
+    @GetMapping("/getUserStatsAfter")
+    public ResponseEntity<UserOrderStatsPage> getUserStatsAfter(@RequestParam(required = false) Long afterUserId,
+                                                                @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(orderSummaryService.getUserStatsAfter(afterUserId, size));
+    }
+
+    @GetMapping("/getDailyRevenue")
+    public ResponseEntity<List<DailyRevenueView>> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(orderSummaryService.getDailyRevenue(from, to));
+    }
+}
@@ -4,6 +4,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Domain.Models.Security.PrincipalCacheStats;
 import org.whiletrue.ordermanagementsystem.Services.UserService;
 
 @RestController
@@ -25,6 +27,18 @@ public class UserController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @PutMapping("/changeRole/{id}")
+    public ResponseEntity<User> changeRole(@PathVariable Long id, @RequestParam Role role) {
+        return userService.changeRole(id, role)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/principalCache/stats")
+    public ResponseEntity<PrincipalCacheStats> getPrincipalCacheStats() {
+        return ResponseEntity.ok(userService.getPrincipalCacheStats());
+    }
+
     @DeleteMapping("/deleteUser/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         userService.deleteUser(id);
@@ -0,0 +1,37 @@
+package org.whiletrue.ordermanagementsystem.Domain.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Orders placed on a day and their revenue, both excluding orders that were cancelled since.
+ * Like {@link OrderStatusCount}, every day is spread over several slots that are summed when read.
+ */
+@Entity
+@Table(name = "daily_revenue")
+@IdClass(DailyRevenue.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenue {
+
+    @Id
+    private LocalDate orderDate;
+
+    @Id
+    private Integer slot;
+
+    @Column(nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    public record Key(LocalDate orderDate, Integer slot) implements Serializable {}
+}
@@ -0,0 +1,67 @@
+package org.whiletrue.ordermanagementsystem.Domain.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response of a request made with an {@code Idempotency-Key}, kept so that retries can be
+ * answered after a restart or by another instance.
+ * <p>
+ * New records are always inserted, never merged into an existing row, so that a key stored
+ * concurrently by another instance fails on the primary key instead of being overwritten.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord implements Persistable<String> {
+
+    /**
+     * The idempotency key, prefixed with the subject of the caller.
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 512)
+    private String key;
+
+    /**
+     * SHA-256 of the request body, used to reject the same key with a different request.
+     */
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    /**
+     * The serialized response, {@code null} while the request that claimed the key is still running.
+     */
+    @Column(columnDefinition = "text")
+    private String response;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private boolean persisted;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -2,13 +2,15 @@ package org.whiletrue.ordermanagementsystem.Domain.Entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_user_created", columnList = "user_id, created_at, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +18,8 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderSeq")
+    @SequenceGenerator(name = "orderSeq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -29,4 +32,24 @@ public class Order {
     private OrderStatus status;
 
     private LocalDateTime createdAt;
+
+    /**
+     * Sum of unit price times quantity over all items, computed when the order is created.
+     */
+    private BigDecimal totalAmount;
+
+    /**
+     * Total quantity over all items, computed when the order is created.
+     */
+    private Integer itemCount;
+
+    /**
+     * Optimistic lock version. Entity updates fail with an optimistic locking exception when the
+     * row changed since it was read; the conditional updates in
+     * {@link org.whiletrue.ordermanagementsystem.Repository.OrderRepository} increment it too.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
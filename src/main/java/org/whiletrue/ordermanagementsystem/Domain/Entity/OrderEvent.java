@@ -0,0 +1,51 @@
+package org.whiletrue.ordermanagementsystem.Domain.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry recording that an order reached a new status. Written in the same transaction
+ * as the order change and delivered to the event sinks afterwards, in ID order.
+ */
+@Entity
+@Table(name = "order_events", indexes = @Index(name = "idx_order_events_published", columnList = "published_at, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderEvent {
+
+    /**
+     * Drawn from the sequence one value at a time rather than in pooled blocks, since a block
+     * held by one instance would give its later events lower IDs than the earlier events of
+     * another instance, and events are delivered in ID order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderEventSeq")
+    @SequenceGenerator(name = "orderEventSeq", sequenceName = "order_events_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    /**
+     * When the event was handed to all sinks, or {@code null} while it is still pending.
+     */
+    private LocalDateTime publishedAt;
+}
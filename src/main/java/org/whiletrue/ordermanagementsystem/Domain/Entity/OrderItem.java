@@ -4,7 +4,10 @@ package org.whiletrue.ordermanagementsystem.Domain.Entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
+
 @Entity
+@Table(indexes = @Index(name = "idx_order_item_order", columnList = "order_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,7 +15,8 @@ import lombok.*;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderItemSeq")
+    @SequenceGenerator(name = "orderItemSeq", sequenceName = "order_item_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -22,4 +26,15 @@ public class OrderItem {
     private Order order;
 
     private int quantity;
+
+    /**
+     * Price of the product at the time the order was created.
+     */
+    private BigDecimal unitPrice;
+
+    /**
+     * Quantity taken out of the product's stock for this item, or null if the product did not
+     * track stock when the order was created. Only this much is returned when the order is cancelled.
+     */
+    private Integer reservedQuantity;
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package org.whiletrue.ordermanagementsystem.Domain.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+
+import java.io.Serializable;
+
+/**
+ * Number of orders currently in a status. Each status is spread over several slots that are
+ * summed when read, so concurrent orders rarely wait for the lock on the same counter row.
+ * A single slot may go negative when orders leave the status through another slot; only the sum counts.
+ */
+@Entity
+@Table(name = "order_status_counts")
+@IdClass(OrderStatusCount.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusCount {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Id
+    private Integer slot;
+
+    @Column(nullable = false)
+    private Long orderCount;
+
+    public record Key(OrderStatus status, Integer slot) implements Serializable {}
+}
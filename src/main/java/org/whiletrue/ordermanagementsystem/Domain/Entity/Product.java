@@ -3,7 +3,9 @@ package org.whiletrue.ordermanagementsystem.Domain.Entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 
@@ -16,7 +18,8 @@ import java.math.BigDecimal;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "productSeq")
+    @SequenceGenerator(name = "productSeq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -24,4 +27,22 @@ public class Product {
 
     @Positive
     private BigDecimal price;
+
+    /**
+     * Units left for new orders, or {@code null} if stock is not tracked for this product.
+     * Only changed through the conditional updates in
+     * {@link org.whiletrue.ordermanagementsystem.Repository.ProductRepository}; copies served
+     * from the catalog cache may lag behind the database.
+     */
+    @PositiveOrZero
+    private Integer stock;
+
+    /**
+     * Optimistic lock version, incremented by entity updates and by the stock updates alike,
+     * so saving a stale copy can never undo a reservation.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package org.whiletrue.ordermanagementsystem.Domain.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token issued at login. Only the SHA-256 of the token is stored. Every refresh uses
+ * up the token and issues a new one in the same family, so presenting a used token again
+ * reveals that it was copied, and the whole family is revoked.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_family", columnList = "family"),
+        @Index(name = "idx_refresh_tokens_expires", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refreshTokenSeq")
+    @SequenceGenerator(name = "refreshTokenSeq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * SHA-256 of the token handed to the client.
+     */
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    /**
+     * Shared by all tokens descending from the same login.
+     */
+    @Column(nullable = false, length = 36)
+    private String family;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * When the token was exchanged for a new one, {@code null} while it is still usable.
+     */
+    private LocalDateTime usedAt;
+}
@@ -1,6 +1,23 @@
 package org.whiletrue.ordermanagementsystem.Domain.Enums;
 
+import java.util.Set;
+
 public enum OrderStatus {
     CREATED,
-    CANCELLED
-}
\ No newline at end of file
+    PAID,
+    SHIPPED,
+    CANCELLED;
+
+    /**
+     * Returns the statuses an order must be in to move to this status.
+     * Orders start as {@link #CREATED}, which no transition leads to.
+     */
+    public Set<OrderStatus> allowedPredecessors() {
+        return switch (this) {
+            case CREATED -> Set.of();
+            case PAID -> Set.of(CREATED);
+            case SHIPPED -> Set.of(PAID);
+            case CANCELLED -> Set.of(CREATED, PAID);
+        };
+    }
+}
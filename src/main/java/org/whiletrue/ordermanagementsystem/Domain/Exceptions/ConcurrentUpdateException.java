@@ -0,0 +1,16 @@
+package org.whiletrue.ordermanagementsystem.Domain.Exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an update kept conflicting with concurrent updates of the same rows
+ * and ran out of retries.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConcurrentUpdateException extends RuntimeException {
+
+    public ConcurrentUpdateException(String operation, int attempts, Throwable cause) {
+        super(operation + " conflicted with concurrent updates " + attempts + " time(s), please retry", cause);
+    }
+}
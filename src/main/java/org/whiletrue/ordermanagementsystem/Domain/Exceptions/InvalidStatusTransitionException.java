@@ -0,0 +1,16 @@
+package org.whiletrue.ordermanagementsystem.Domain.Exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+
+/**
+ * Thrown when an order cannot move from its current status to the requested one.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    public InvalidStatusTransitionException(Long orderId, OrderStatus current, OrderStatus target) {
+        super("Order " + orderId + " cannot change from " + current + " to " + target);
+    }
+}
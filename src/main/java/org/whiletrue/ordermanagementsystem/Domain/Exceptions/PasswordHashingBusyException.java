@@ -0,0 +1,15 @@
+package org.whiletrue.ordermanagementsystem.Domain.Exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when too many passwords are already waiting to be hashed or checked.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many logins in progress, retry later");
+    }
+}
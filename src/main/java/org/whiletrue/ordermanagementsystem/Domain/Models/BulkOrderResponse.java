@@ -0,0 +1,9 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import java.util.List;
+
+public record BulkOrderResponse(
+        int created,
+        int failed,
+        List<BulkOrderResult> results
+) {}
@@ -0,0 +1,15 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+public record BulkOrderResult(
+        int index,
+        Long orderId,
+        String error
+) {
+    public static BulkOrderResult created(int index, Long orderId) {
+        return new BulkOrderResult(index, orderId, null);
+    }
+
+    public static BulkOrderResult failed(int index, String error) {
+        return new BulkOrderResult(index, null, error);
+    }
+}
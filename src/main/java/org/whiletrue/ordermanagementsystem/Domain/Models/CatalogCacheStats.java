@@ -0,0 +1,10 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+public record CatalogCacheStats(
+        long hits,
+        long misses,
+        double hitRatio,
+        long loads,
+        double averageLoadMillis,
+        int size
+) {}
@@ -1,5 +1,6 @@
 package org.whiletrue.ordermanagementsystem.Domain.Models;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
@@ -7,5 +8,5 @@ import java.util.List;
 
 public record CreateOrderRequest(
         @NotNull Long userId,
-        @NotEmpty List<OrderItemRequest> items
+        @NotEmpty List<@Valid OrderItemRequest> items
 ) {}
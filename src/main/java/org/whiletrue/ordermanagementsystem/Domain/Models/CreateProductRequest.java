@@ -2,10 +2,12 @@ package org.whiletrue.ordermanagementsystem.Domain.Models;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 
 import java.math.BigDecimal;
 
 public record CreateProductRequest(
         @NotBlank String name,
-        @Positive BigDecimal price
+        @Positive BigDecimal price,
+        @PositiveOrZero Integer stock
 ) {}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyRevenueView(
+        LocalDate date,
+        Long orders,
+        BigDecimal revenue
+) {}
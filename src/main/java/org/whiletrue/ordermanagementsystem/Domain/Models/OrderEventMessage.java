@@ -0,0 +1,26 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import org.whiletrue.ordermanagementsystem.Domain.Entity.OrderEvent;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order lifecycle event as delivered to the event sinks. {@code eventId} increases with every
+ * event and lets consumers drop duplicates of an at-least-once delivery.
+ */
+public record OrderEventMessage(
+        Long eventId,
+        Long orderId,
+        Long userId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        LocalDateTime occurredAt
+) {
+
+    public static OrderEventMessage from(OrderEvent event) {
+        return new OrderEventMessage(event.getId(), event.getOrderId(), event.getUserId(), event.getStatus(),
+                event.getTotalAmount(), event.getOccurredAt());
+    }
+}
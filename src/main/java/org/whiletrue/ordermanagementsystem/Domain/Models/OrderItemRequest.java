@@ -1,8 +1,9 @@
 package org.whiletrue.ordermanagementsystem.Domain.Models;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 public record OrderItemRequest(
         @NotNull Long productId,
-        int quantity
+        @Positive int quantity
 ) {}
@@ -0,0 +1,14 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+
+public record OrderItemView(
+        @JsonIgnore Long orderId,
+        Long id,
+        Long productId,
+        String productName,
+        BigDecimal unitPrice,
+        int quantity
+) {}
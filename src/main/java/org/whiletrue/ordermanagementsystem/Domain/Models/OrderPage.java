@@ -0,0 +1,8 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import java.util.List;
+
+public record OrderPage(
+        List<OrderView> orders,
+        String nextCursor
+) {}
@@ -0,0 +1,10 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+
+import java.util.Map;
+
+public record OrderStatusSummary(
+        Map<OrderStatus, Long> orders,
+        long total
+) {}
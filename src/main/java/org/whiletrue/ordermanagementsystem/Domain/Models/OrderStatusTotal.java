@@ -0,0 +1,8 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+
+public record OrderStatusTotal(
+        OrderStatus status,
+        Long orders
+) {}
@@ -0,0 +1,42 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Order;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record OrderView(
+        Long id,
+        Long userId,
+        OrderStatus status,
+        LocalDateTime createdAt,
+        BigDecimal totalAmount,
+        Integer itemCount,
+        List<OrderItemView> items
+) {
+    /**
+     * Used by JPQL constructor expressions, which select the order row before its items are known.
+     */
+    public OrderView(Long id, Long userId, OrderStatus status, LocalDateTime createdAt,
+                     BigDecimal totalAmount, Integer itemCount) {
+        this(id, userId, status, createdAt, totalAmount, itemCount, List.of());
+    }
+
+    /**
+     * Builds the view of an order whose items and products are already loaded.
+     */
+    public static OrderView from(Order order) {
+        List<OrderItemView> items = order.getItems() == null ? List.of() : order.getItems().stream()
+                .map(item -> new OrderItemView(order.getId(), item.getId(), item.getProduct().getId(),
+                        item.getProduct().getName(), item.getUnitPrice(), item.getQuantity()))
+                .toList();
+        return new OrderView(order.getId(), order.getUser().getId(), order.getStatus(), order.getCreatedAt(),
+                order.getTotalAmount(), order.getItemCount(), items);
+    }
+
+    public OrderView withItems(List<OrderItemView> items) {
+        return new OrderView(id, userId, status, createdAt, totalAmount, itemCount, items);
+    }
+}
@@ -0,0 +1,11 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+
+import java.util.List;
+
+public record ProductPage(
+        List<Product> products,
+        boolean hasNext,
+        Long lastId
+) {}
@@ -0,0 +1,6 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+public record ReservedStockView(
+        Long productId,
+        Long quantity
+) {}
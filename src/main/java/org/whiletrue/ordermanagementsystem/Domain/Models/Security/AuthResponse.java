@@ -1,3 +1,10 @@
 package org.whiletrue.ordermanagementsystem.Domain.Models.Security;
 
-public record AuthResponse(String token) {}
+/**
+ * Tokens issued at login, registration and refresh.
+ *
+ * @param token        The short-lived access token, sent as {@code Authorization: Bearer}.
+ * @param refreshToken The token to exchange at {@code /auth/refresh} for new tokens; usable once.
+ * @param expiresIn    How many seconds the access token stays valid.
+ */
+public record AuthResponse(String token, String refreshToken, long expiresIn) {}
@@ -0,0 +1,3 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models.Security;
+
+public record RefreshRequest(String refreshToken) {}
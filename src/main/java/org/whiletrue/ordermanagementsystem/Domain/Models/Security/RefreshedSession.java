@@ -0,0 +1,5 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models.Security;
+
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+
+public record RefreshedSession(User user, String refreshToken) {}
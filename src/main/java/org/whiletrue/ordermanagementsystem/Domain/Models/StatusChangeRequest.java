@@ -0,0 +1,13 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+
+import java.util.List;
+
+public record StatusChangeRequest(
+        @NotEmpty @Size(max = 10_000) List<@NotNull Long> orderIds,
+        @NotNull OrderStatus status
+) {}
@@ -0,0 +1,16 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk status change. {@code unchangedIds} lists the requested orders that do not
+ * exist or were not in a status that allows the change.
+ */
+public record StatusChangeResponse(
+        OrderStatus status,
+        int requested,
+        int changed,
+        List<Long> unchangedIds
+) {}
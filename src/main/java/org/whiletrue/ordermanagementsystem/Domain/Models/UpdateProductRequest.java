@@ -0,0 +1,11 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record UpdateProductRequest(
+        @NotBlank String name,
+        @Positive BigDecimal price
+) {}
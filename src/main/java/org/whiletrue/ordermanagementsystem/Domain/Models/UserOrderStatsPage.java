@@ -0,0 +1,11 @@
+package org.whiletrue.ordermanagementsystem.Domain.Models;
+
+import org.whiletrue.ordermanagementsystem.Domain.Entity.UserOrderStats;
+
+import java.util.List;
+
+public record UserOrderStatsPage(
+        List<UserOrderStats> users,
+        boolean hasNext,
+        Long lastUserId
+) {}
@@ -0,0 +1,46 @@
+package org.whiletrue.ordermanagementsystem.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.DailyRevenue;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Models.DailyRevenueView;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, DailyRevenue.Key> {
+
+    /**
+     * Adds the deltas to one slot of a day, creating the slot if it does not exist yet, as a single upsert.
+     */
+    @Modifying
+    @Query("""
+            insert into DailyRevenue (orderDate, slot, orderCount, revenue) values (:date, :slot, :orders, :revenue)
+            on conflict (orderDate, slot) do update
+            set orderCount = orderCount + excluded.orderCount, revenue = revenue + excluded.revenue""")
+    int add(LocalDate date, int slot, long orders, BigDecimal revenue);
+
+    @Query("""
+            select new org.whiletrue.ordermanagementsystem.Domain.Models.DailyRevenueView(
+                d.orderDate, sum(d.orderCount), sum(d.revenue))
+            from DailyRevenue d
+            where d.orderDate between :from and :to
+            group by d.orderDate
+            order by d.orderDate""")
+    List<DailyRevenueView> sumByDate(LocalDate from, LocalDate to);
+
+    /**
+     * Recounts all orders that are not in the excluded status into slot 0 of their day. The table must be empty.
+     */
+    @Modifying
+    @Query("""
+            insert into DailyRevenue (orderDate, slot, orderCount, revenue)
+            select cast(o.createdAt as LocalDate), 0, count(o), coalesce(sum(o.totalAmount), 0)
+            from Order o
+            where o.status <> :excluded
+            group by cast(o.createdAt as LocalDate)""")
+    int rebuild(OrderStatus excluded);
+}
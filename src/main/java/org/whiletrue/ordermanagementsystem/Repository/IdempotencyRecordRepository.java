@@ -0,0 +1,23 @@
+package org.whiletrue.ordermanagementsystem.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(LocalDateTime cutoff);
+
+    /**
+     * Deletes the record of the given key if it is older than the cutoff, so the key can be claimed
+     * again before {@link #deleteCreatedBefore} has purged it.
+     */
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.key = :key and r.createdAt < :cutoff")
+    int deleteByKeyCreatedBefore(String key, LocalDateTime cutoff);
+}
@@ -0,0 +1,24 @@
+package org.whiletrue.ordermanagementsystem.Repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.OrderEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    List<OrderEvent> findByPublishedAtIsNullOrderByIdAsc(Limit limit);
+
+    @Modifying
+    @Query("update OrderEvent e set e.publishedAt = :publishedAt where e.id in :ids")
+    int markPublished(Collection<Long> ids, LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("delete from OrderEvent e where e.publishedAt < :cutoff")
+    int deletePublishedBefore(LocalDateTime cutoff);
+}
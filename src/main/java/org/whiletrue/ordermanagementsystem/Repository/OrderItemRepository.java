@@ -1,7 +1,42 @@
 package org.whiletrue.ordermanagementsystem.Repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.OrderItem;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderItemView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.ReservedStockView;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
-}
\ No newline at end of file
+
+    @Query("""
+            select new org.whiletrue.ordermanagementsystem.Domain.Models.OrderItemView(
+                i.order.id, i.id, p.id, p.name, coalesce(i.unitPrice, p.price), i.quantity)
+            from OrderItem i join i.product p
+            where i.order.id in :orderIds
+            order by i.id""")
+    List<OrderItemView> findViewsByOrderIds(Collection<Long> orderIds);
+
+    /**
+     * Sums the stock reserved by the items of the given orders per product, in ascending product ID order.
+     * Items that reserved nothing are left out.
+     */
+    @Query("""
+            select new org.whiletrue.ordermanagementsystem.Domain.Models.ReservedStockView(
+                i.product.id, sum(i.reservedQuantity))
+            from OrderItem i
+            where i.order.id in :orderIds and i.reservedQuantity is not null
+            group by i.product.id
+            order by i.product.id""")
+    List<ReservedStockView> findReservedStockByOrderIds(Collection<Long> orderIds);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update OrderItem i
+            set i.unitPrice = (select p.price from Product p where p.id = i.product.id)
+            where i.unitPrice is null and i.order.id between :fromOrderId and :toOrderId""")
+    int backfillUnitPrices(Long fromOrderId, Long toOrderId);
+}
@@ -1,10 +1,79 @@
 package org.whiletrue.ordermanagementsystem.Repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.Order;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    @Query("""
+            select new org.whiletrue.ordermanagementsystem.Domain.Models.OrderView(
+                o.id, o.user.id, o.status, o.createdAt, o.totalAmount, o.itemCount)
+            from Order o
+            where o.id = :id""")
+    Optional<OrderView> findViewById(Long id);
+
+    @Query("""
+            select new org.whiletrue.ordermanagementsystem.Domain.Models.OrderView(
+                o.id, o.user.id, o.status, o.createdAt, o.totalAmount, o.itemCount)
+            from Order o
+            where o.user.id = :userId
+            order by o.createdAt desc, o.id desc""")
+    List<OrderView> findViewsByUser(Long userId, Limit limit);
+
+    @Query("""
+            select new org.whiletrue.ordermanagementsystem.Domain.Models.OrderView(
+                o.id, o.user.id, o.status, o.createdAt, o.totalAmount, o.itemCount)
+            from Order o
+            where o.user.id = :userId
+              and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id))
+            order by o.createdAt desc, o.id desc""")
+    List<OrderView> findViewsByUserBefore(Long userId, LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query("select min(o.id) from Order o where o.totalAmount is null")
+    Long findMinIdWithoutTotals();
+
+    @Query("select max(o.id) from Order o where o.totalAmount is null")
+    Long findMaxIdWithoutTotals();
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Order o
+            set o.totalAmount = coalesce((select sum(i.unitPrice * i.quantity) from OrderItem i where i.order.id = o.id), 0),
+                o.itemCount = coalesce((select cast(sum(i.quantity) as Integer) from OrderItem i where i.order.id = o.id), 0),
+                o.version = o.version + 1
+            where o.totalAmount is null and o.id between :fromId and :toId""")
+    int backfillTotals(Long fromId, Long toId);
+
+    /**
+     * Moves the given orders to the target status if they are currently in one of the given statuses;
+     * orders in other statuses are left unchanged.
+     */
+    @Modifying
+    @Query("update Order o set o.status = :target, o.version = o.version + 1 where o.id in :ids and o.status in :from")
+    int changeStatuses(Collection<Long> ids, Collection<OrderStatus> from, OrderStatus target);
+
+    /**
+     * Reads and locks the given orders that are in one of the given statuses, in ID order,
+     * so that a following {@link #changeStatuses} changes exactly these orders.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select new org.whiletrue.ordermanagementsystem.Domain.Models.OrderView(
+                o.id, o.user.id, o.status, o.createdAt, o.totalAmount, o.itemCount)
+            from Order o
+            where o.id in :ids and o.status in :statuses
+            order by o.id""")
+    List<OrderView> lockViewsByIdsAndStatus(Collection<Long> ids, Collection<OrderStatus> statuses);
+}
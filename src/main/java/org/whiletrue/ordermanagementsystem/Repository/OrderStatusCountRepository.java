@@ -0,0 +1,37 @@
+package org.whiletrue.ordermanagementsystem.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.OrderStatusCount;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderStatusTotal;
+
+import java.util.List;
+
+public interface OrderStatusCountRepository extends JpaRepository<OrderStatusCount, OrderStatusCount.Key> {
+
+    /**
+     * Adds the delta to one slot of a status, creating the slot if it does not exist yet, as a single upsert.
+     */
+    @Modifying
+    @Query("""
+            insert into OrderStatusCount (status, slot, orderCount) values (:status, :slot, :delta)
+            on conflict (status, slot) do update set orderCount = orderCount + excluded.orderCount""")
+    int add(OrderStatus status, int slot, long delta);
+
+    @Query("""
+            select new org.whiletrue.ordermanagementsystem.Domain.Models.OrderStatusTotal(c.status, sum(c.orderCount))
+            from OrderStatusCount c
+            group by c.status""")
+    List<OrderStatusTotal> sumByStatus();
+
+    /**
+     * Recounts all orders into slot 0 of every status. The table must be empty.
+     */
+    @Modifying
+    @Query("""
+            insert into OrderStatusCount (status, slot, orderCount)
+            select o.status, 0, count(o) from Order o group by o.status""")
+    int rebuild();
+}
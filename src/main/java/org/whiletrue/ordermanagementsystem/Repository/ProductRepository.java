@@ -1,7 +1,69 @@
 package org.whiletrue.ordermanagementsystem.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Models.ProductNameView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
-}
\ No newline at end of file
+
+    Slice<Product> findAllBy(Pageable pageable);
+
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Streams the whole catalog in ID order. Must be consumed inside a transaction;
+     * rows are fetched from the database in batches instead of being loaded at once.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select p from Product p order by p.id")
+    Stream<Product> streamAll();
+
+    /**
+     * Returns the ID and name of every product, for building the search index.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new org.whiletrue.ordermanagementsystem.Domain.Models.ProductNameView(p.id, p.name) from Product p")
+    List<ProductNameView> findAllNames();
+
+    /**
+     * Returns which of the given products track their stock, read from the database rather
+     * than from the catalog cache, whose copies may predate a recent {@link #addStock}.
+     */
+    @Query("select p.id from Product p where p.id in :ids and p.stock is not null")
+    Set<Long> findTrackedIds(Collection<Long> ids);
+
+    /**
+     * Takes the given quantity out of stock if at least that much is left, as a single
+     * conditional update. Returns 0 if the stock is too low or not tracked for the product.
+     */
+    @Modifying
+    @Query("update Product p set p.stock = p.stock - :quantity, p.version = p.version + 1 where p.id = :id and p.stock >= :quantity")
+    int reserveStock(Long id, int quantity);
+
+    /**
+     * Puts the given quantity back into stock. Products without tracked stock are left unchanged.
+     */
+    @Modifying
+    @Query("update Product p set p.stock = p.stock + :quantity, p.version = p.version + 1 where p.id = :id and p.stock is not null")
+    int releaseStock(Long id, int quantity);
+
+    /**
+     * Adds the given quantity to the stock of a product, starting to track stock if it was not tracked yet.
+     */
+    @Modifying
+    @Query("update Product p set p.stock = coalesce(p.stock, 0) + :quantity, p.version = p.version + 1 where p.id = :id")
+    int addStock(Long id, int quantity);
+}
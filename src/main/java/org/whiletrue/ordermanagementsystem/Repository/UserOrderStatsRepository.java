@@ -0,0 +1,42 @@
+package org.whiletrue.ordermanagementsystem.Repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.UserOrderStats;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface UserOrderStatsRepository extends JpaRepository<UserOrderStats, Long> {
+
+    List<UserOrderStats> findByUserIdGreaterThanOrderByUserIdAsc(Long userId, Limit limit);
+
+    /**
+     * Adds the deltas to the statistics of a user, creating them if they do not exist yet, as a single upsert.
+     */
+    @Modifying
+    @Query("""
+            insert into UserOrderStats (userId, orderCount, cancelledCount, totalAmount)
+            values (:userId, :orders, :cancelled, :amount)
+            on conflict (userId) do update
+            set orderCount = orderCount + excluded.orderCount,
+                cancelledCount = cancelledCount + excluded.cancelledCount,
+                totalAmount = totalAmount + excluded.totalAmount""")
+    int add(Long userId, long orders, long cancelled, BigDecimal amount);
+
+    /**
+     * Recounts the orders of every user that has any. The table must be empty.
+     */
+    @Modifying
+    @Query("""
+            insert into UserOrderStats (userId, orderCount, cancelledCount, totalAmount)
+            select o.user.id, count(o),
+                   sum(case when o.status = :cancelled then 1 else 0 end),
+                   coalesce(sum(case when o.status <> :cancelled then o.totalAmount end), 0)
+            from Order o
+            group by o.user.id""")
+    int rebuild(OrderStatus cancelled);
+}
@@ -1,6 +1,8 @@
 package org.whiletrue.ordermanagementsystem.Repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
 
 import java.util.Optional;
@@ -8,4 +10,10 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
+    /**
+     * Replaces the stored password hash of a user without loading the user.
+     */
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePassword(String email, String password);
 }
\ No newline at end of file
@@ -0,0 +1,188 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.whiletrue.ordermanagementsystem.Domain.Models.BulkOrderResponse;
+import org.whiletrue.ordermanagementsystem.Domain.Models.BulkOrderResult;
+import org.whiletrue.ordermanagementsystem.Domain.Models.CreateOrderRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service responsible for importing large batches of orders from a streamed request body.
+ * <p>
+ * Records are parsed one at a time, so the body is never held in memory as a whole, and
+ * are handed to {@link OrderService#createOrders(Map)} in chunks of a configurable size.
+ * Every chunk is committed in its own transaction; a failing chunk does not roll back the
+ * chunks stored before it.
+ */
+@Service
+public class BulkOrderService {
+
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private static final Logger logger = LoggerFactory.getLogger(BulkOrderService.class);
+
+    @Autowired
+    public BulkOrderService(OrderService orderService, ObjectMapper objectMapper, Validator validator,
+                            @Value("${orders.bulk.chunk-size:500}") int chunkSize) {
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports orders from a newline-delimited JSON stream, one {@link CreateOrderRequest} per line.
+     * Malformed lines are reported as failed records and the import continues with the next line.
+     *
+     * @param body The request body.
+     * @return The per-record outcome of the import.
+     * @throws IOException if the body cannot be read.
+     */
+    public BulkOrderResponse importNdjson(InputStream body) throws IOException {
+        logger.info("Starting NDJSON order import with chunk size {}", chunkSize);
+        ChunkedImport chunkedImport = new ChunkedImport();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                chunkedImport.add(objectMapper.readValue(line, CreateOrderRequest.class));
+            } catch (JsonProcessingException e) {
+                chunkedImport.reject("Malformed record: " + e.getOriginalMessage());
+            }
+        }
+
+        return chunkedImport.finish();
+    }
+
+    /**
+     * Imports orders from a JSON array of {@link CreateOrderRequest}s.
+     * Records that are valid JSON but do not match a {@link CreateOrderRequest}, for example
+     * because of a wrongly typed field, are reported as failed and the import continues.
+     * Since a JSON array cannot be resynchronised after a syntax error, a syntax error is
+     * reported as a failed record and ends the import; chunks stored before it are kept.
+     *
+     * @param body The request body.
+     * @return The per-record outcome of the import.
+     * @throws IOException if the body cannot be read.
+     */
+    public BulkOrderResponse importJsonArray(InputStream body) throws IOException {
+        logger.info("Starting JSON array order import with chunk size {}", chunkSize);
+        ChunkedImport chunkedImport = new ChunkedImport();
+
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                chunkedImport.reject("Expected a JSON array of orders");
+                return chunkedImport.finish();
+            }
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    chunkedImport.reject("Expected an order object but found " + token);
+                    break;
+                }
+                // the whole element is read before binding it, so a record that does not fit
+                // CreateOrderRequest leaves the parser at the next element and the import goes on
+                JsonNode record = parser.readValueAsTree();
+                try {
+                    chunkedImport.add(objectMapper.treeToValue(record, CreateOrderRequest.class));
+                } catch (JsonProcessingException e) {
+                    chunkedImport.reject("Malformed record: " + e.getOriginalMessage());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            chunkedImport.reject("Malformed record: " + e.getOriginalMessage());
+        }
+
+        return chunkedImport.finish();
+    }
+
+    /**
+     * Accumulates parsed records into chunks and collects the result of every record.
+     */
+    private class ChunkedImport {
+
+        private final List<BulkOrderResult> results = new ArrayList<>();
+        private Map<Integer, CreateOrderRequest> pending = new LinkedHashMap<>();
+        private int nextIndex;
+
+        void add(CreateOrderRequest request) {
+            if (request == null) {
+                reject("Malformed record: expected an order object but found null");
+                return;
+            }
+            int index = nextIndex++;
+
+            Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results.add(BulkOrderResult.failed(index, violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "))));
+                return;
+            }
+
+            pending.put(index, request);
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(String error) {
+            results.add(BulkOrderResult.failed(nextIndex++, error));
+        }
+
+        BulkOrderResponse finish() {
+            flush();
+            results.sort(Comparator.comparingInt(BulkOrderResult::index));
+
+            int created = (int) results.stream().filter(r -> r.orderId() != null).count();
+            logger.info("Order import finished: {} created, {} failed", created, results.size() - created);
+            return new BulkOrderResponse(created, results.size() - created, results);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                results.addAll(orderService.createOrders(pending));
+            } catch (DataAccessException e) {
+                logger.error("Order chunk of {} record(s) rolled back", pending.size(), e);
+                pending.keySet().forEach(index -> results.add(
+                        BulkOrderResult.failed(index, "Chunk rolled back: " + e.getMostSpecificCause().getMessage())));
+            }
+            pending = new LinkedHashMap<>();
+        }
+    }
+}
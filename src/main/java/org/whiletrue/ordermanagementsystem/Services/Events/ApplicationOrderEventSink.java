@@ -0,0 +1,31 @@
+package org.whiletrue.ordermanagementsystem.Services.Events;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderEventMessage;
+
+import java.util.List;
+
+/**
+ * Sink that publishes every event as a Spring application event, so in-process components can
+ * react with an {@code @EventListener} method for {@link OrderEventMessage}. Listeners run on
+ * the dispatcher thread; one that throws makes the batch be delivered again.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.events.sinks.in-process.enabled", havingValue = "true", matchIfMissing = true)
+public class ApplicationOrderEventSink implements OrderEventSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ApplicationOrderEventSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void deliver(List<OrderEventMessage> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,43 @@
+package org.whiletrue.ordermanagementsystem.Services.Events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderEventMessage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sink that appends every event as one JSON line to a local file, standing in for a message
+ * queue. Enabled by setting {@code orders.events.sinks.file.path}. A batch is synced to disk
+ * before it counts as delivered.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.events.sinks.file.path")
+public class FileOrderEventSink implements OrderEventSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public FileOrderEventSink(@Value("${orders.events.sinks.file.path}") Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void deliver(List<OrderEventMessage> events) throws IOException {
+        List<String> lines = new ArrayList<>(events.size());
+        for (OrderEventMessage event : events) {
+            lines.add(objectMapper.writeValueAsString(event));
+        }
+        Files.write(path, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+    }
+}
@@ -0,0 +1,23 @@
+package org.whiletrue.ordermanagementsystem.Services.Events;
+
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderEventMessage;
+
+import java.util.List;
+
+/**
+ * Destination for order lifecycle events drained from the outbox.
+ * <p>
+ * Events arrive in outbox order, so all events of one order arrive in the order they happened.
+ * Delivery is at least once: a batch is handed over again if any sink fails, so sinks must
+ * tolerate duplicates, for example by remembering the last {@code eventId} they processed.
+ */
+public interface OrderEventSink {
+
+    /**
+     * Delivers a batch of events. Throwing makes the dispatcher retry the whole batch later.
+     *
+     * @param events The events, in ascending event ID order.
+     * @throws Exception if the batch could not be delivered.
+     */
+    void deliver(List<OrderEventMessage> events) throws Exception;
+}
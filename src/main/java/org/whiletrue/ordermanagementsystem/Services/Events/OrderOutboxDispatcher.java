@@ -0,0 +1,100 @@
+package org.whiletrue.ordermanagementsystem.Services.Events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.OrderEvent;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderEventMessage;
+import org.whiletrue.ordermanagementsystem.Repository.OrderEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background job that drains the order event outbox to the configured {@link OrderEventSink}s.
+ * <p>
+ * Pending events are read in ID order in batches of {@code orders.events.batch-size} and handed
+ * to every sink; only then are they marked as published. If a sink fails, the batch stays
+ * pending and is delivered again on the next run, so delivery is at least once and never skips
+ * ahead of an undelivered event. Ordering holds as long as a single instance dispatches; set
+ * {@code orders.events.dispatcher.enabled=false} on the others.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.events.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxDispatcher {
+
+    private final OrderEventRepository orderEventRepository;
+    private final List<OrderEventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+    private static final Logger logger = LoggerFactory.getLogger(OrderOutboxDispatcher.class);
+
+    @Autowired
+    public OrderOutboxDispatcher(OrderEventRepository orderEventRepository, List<OrderEventSink> sinks,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${orders.events.batch-size:500}") int batchSize,
+                                 @Value("${orders.events.retention:7d}") Duration retention) {
+        this.orderEventRepository = orderEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+        logger.info("Dispatching order events to {} sink(s)", sinks.size());
+    }
+
+    /**
+     * Delivers pending events until the outbox is empty or a sink fails.
+     *
+     * @return The number of events delivered.
+     */
+    @Scheduled(fixedDelayString = "${orders.events.poll-interval:1s}")
+    public int dispatch() {
+        int delivered = 0;
+        while (true) {
+            List<OrderEvent> batch = orderEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return delivered;
+            }
+
+            List<OrderEventMessage> messages = batch.stream().map(OrderEventMessage::from).toList();
+            for (OrderEventSink sink : sinks) {
+                try {
+                    sink.deliver(messages);
+                } catch (Exception e) {
+                    logger.error("Sink {} failed to take {} order event(s) starting at ID {}, will retry",
+                            sink.getClass().getSimpleName(), messages.size(), messages.get(0).eventId(), e);
+                    return delivered;
+                }
+            }
+
+            List<Long> ids = batch.stream().map(OrderEvent::getId).toList();
+            transactionTemplate.executeWithoutResult(status ->
+                    orderEventRepository.markPublished(ids, LocalDateTime.now()));
+            delivered += batch.size();
+            logger.debug("Delivered {} order event(s) up to ID {}", batch.size(), ids.get(ids.size() - 1));
+
+            if (batch.size() < batchSize) {
+                return delivered;
+            }
+        }
+    }
+
+    /**
+     * Deletes published events that are older than the retention window.
+     */
+    @Scheduled(fixedDelayString = "${orders.events.purge-interval:1h}")
+    public void purgePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+                orderEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        logger.info("Purged {} published order event(s)", deleted);
+    }
+}
@@ -0,0 +1,164 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.IdempotencyRecord;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.IdempotencyKeyReuseException;
+import org.whiletrue.ordermanagementsystem.Domain.Models.CreateOrderRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
+import org.whiletrue.ordermanagementsystem.Repository.IdempotencyRecordRepository;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Service that makes order creation safe to retry with an {@code Idempotency-Key}.
+ * <p>
+ * Keys are scoped to the authenticated caller. Results are kept in the {@link IdempotencyStore}
+ * of this instance; with {@code orders.idempotency.persistent=true} they are also written to the
+ * database in the same transaction as the order, so retries are still recognised after a restart
+ * or when they reach another instance.
+ */
+@Service
+public class IdempotencyService {
+
+    private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean persistent;
+    private final Duration ttl;
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    @Autowired
+    public IdempotencyService(OrderService orderService, IdempotencyStore idempotencyStore,
+                              IdempotencyRecordRepository recordRepository, ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${orders.idempotency.persistent:false}") boolean persistent,
+                              @Value("${orders.idempotency.ttl:24h}") Duration ttl) {
+        this.orderService = orderService;
+        this.idempotencyStore = idempotencyStore;
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.persistent = persistent;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Creates an order once per idempotency key and returns the original result for every retry.
+     *
+     * @param subject        The authenticated caller.
+     * @param idempotencyKey The key sent by the client.
+     * @param request        The order creation request.
+     * @return The order created by the first request with this key.
+     * @throws IdempotencyKeyReuseException if the key was already used with a different request.
+     */
+    public OrderView createOrder(String subject, String idempotencyKey, CreateOrderRequest request) {
+        String key = subject + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        return idempotencyStore.execute(key, fingerprint, () -> {
+            logger.info("Creating order for idempotency key {}", idempotencyKey);
+            return persistent
+                    ? createPersisted(key, fingerprint, request)
+                    : OrderView.from(orderService.createOrder(request));
+        });
+    }
+
+    /**
+     * Deletes persisted idempotency records that are older than the retention window.
+     */
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval:1h}")
+    public void purgeExpired() {
+        if (!persistent) {
+            return;
+        }
+        Integer deleted = transactionTemplate.execute(status ->
+                recordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl)));
+        logger.info("Purged {} expired idempotency record(s)", deleted);
+    }
+
+    private OrderView createPersisted(String key, String fingerprint, CreateOrderRequest request) {
+        Optional<OrderView> stored = findStored(key, fingerprint);
+        if (stored.isPresent()) {
+            logger.info("Replaying persisted response for idempotency key {}", key);
+            return stored.get();
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                // an expired record that has not been purged yet would make the claim fail on the key
+                LocalDateTime now = LocalDateTime.now();
+                recordRepository.deleteByKeyCreatedBefore(key, now.minus(ttl));
+
+                // claim the key before creating the order: a concurrent request with the same key
+                // blocks on the inserted row until this transaction ends, then fails on the key
+                IdempotencyRecord record = IdempotencyRecord.builder()
+                        .key(key)
+                        .requestHash(fingerprint)
+                        .createdAt(now)
+                        .build();
+                recordRepository.saveAndFlush(record);
+
+                OrderView order = OrderView.from(orderService.createOrder(request));
+                record.setResponse(write(order));
+                return order;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // another instance claimed the same key first; its order stands and we created none
+            logger.warn("Idempotency key {} was stored concurrently, replaying the stored response", key);
+            return findStored(key, fingerprint).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<OrderView> findStored(String key, String fingerprint) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        return recordRepository.findById(key)
+                .filter(record -> record.getCreatedAt().isAfter(cutoff))
+                .map(record -> {
+                    if (!record.getRequestHash().equals(fingerprint)) {
+                        throw new IdempotencyKeyReuseException();
+                    }
+                    return read(record.getResponse());
+                });
+    }
+
+    private String fingerprint(CreateOrderRequest request) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(hash);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint order request", e);
+        }
+    }
+
+    private String write(OrderView order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize order " + order.id(), e);
+        }
+    }
+
+    private OrderView read(String response) {
+        try {
+            return objectMapper.readValue(response, OrderView.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored idempotent response", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.IdempotencyKeyReuseException;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-limited in-memory store of order creation results keyed by idempotency key.
+ * <p>
+ * The first request with a key runs the creation; requests with the same key that arrive
+ * while it is still running wait for its result instead of running it again, and later
+ * ones get the stored result until it expires. A failed creation is not stored, so the
+ * client may retry it. The least recently used key is dropped once the store is full.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+
+    @Autowired
+    public IdempotencyStore(@Value("${orders.idempotency.max-size:10000}") int maxSize,
+                            @Value("${orders.idempotency.ttl:24h}") Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    IdempotencyStore(int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyStore.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the result stored for the key, or runs the creation and stores its result.
+     *
+     * @param key         The idempotency key.
+     * @param fingerprint Identifies the request body; a key may only be reused with the same body.
+     * @param creation    Creates the order when the key is new.
+     * @return The result of the first request made with this key.
+     * @throws IdempotencyKeyReuseException if the key was used with a different request body.
+     */
+    public OrderView execute(String key, String fingerprint, Supplier<OrderView> creation) {
+        Instant now = clock.instant();
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || !entry.expiresAt().isAfter(now)) {
+                entry = new Entry(fingerprint, new CompletableFuture<>(), now.plus(ttl));
+                entries.put(key, entry);
+                owner = true;
+            } else if (!entry.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReuseException();
+            }
+        }
+
+        if (owner) {
+            try {
+                entry.result().complete(creation.get());
+            } catch (RuntimeException e) {
+                synchronized (entries) {
+                    entries.remove(key, entry);
+                }
+                entry.result().completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return entry.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<OrderView> result, Instant expiresAt) {}
+}
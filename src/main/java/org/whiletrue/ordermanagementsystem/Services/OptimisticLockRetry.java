@@ -0,0 +1,103 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.ConcurrentUpdateException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs read-modify-write updates of versioned entities and retries them when they lose
+ * an optimistic locking race.
+ * <p>
+ * Every attempt runs in its own transaction and must read the entities again, so it works on
+ * the row another writer just committed. Attempts are limited to
+ * {@code optimistic-lock.max-attempts}, with a randomised backoff between them that grows
+ * with each attempt so that colliding writers spread out. Must be called outside a
+ * transaction; inside one, the first conflict would already have doomed the caller's work.
+ */
+@Component
+public class OptimisticLockRetry {
+
+    private final TransactionOperations transactions;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticLockRetry.class);
+
+    @Autowired
+    public OptimisticLockRetry(PlatformTransactionManager transactionManager,
+                               @Value("${optimistic-lock.max-attempts:4}") int maxAttempts,
+                               @Value("${optimistic-lock.backoff:10ms}") Duration backoff) {
+        this(new TransactionTemplate(transactionManager), maxAttempts, backoff);
+    }
+
+    OptimisticLockRetry(TransactionOperations transactions, int maxAttempts, Duration backoff) {
+        this.transactions = transactions;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = backoff;
+    }
+
+    /**
+     * Runs the update in a transaction, retrying it on optimistic locking conflicts.
+     *
+     * @param operation Names the update in logs and errors.
+     * @param update    Reads, changes and saves the entities; may run several times.
+     * @return The result of the attempt that committed.
+     * @throws ConcurrentUpdateException if every attempt conflicted.
+     */
+    public <T> T execute(String operation, Supplier<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactions.execute(status -> update.get());
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.incrementAndGet();
+                if (attempt >= maxAttempts) {
+                    exhausted.incrementAndGet();
+                    logger.warn("{} gave up after {} conflicting attempt(s)", operation, attempt);
+                    throw new ConcurrentUpdateException(operation, attempt, e);
+                }
+                logger.debug("{} conflicted on attempt {}, retrying", operation, attempt);
+                pause(operation, attempt, e);
+            }
+        }
+    }
+
+    /**
+     * Returns how many attempts conflicted since startup.
+     */
+    public long conflicts() {
+        return conflicts.get();
+    }
+
+    /**
+     * Returns how many updates gave up after running out of attempts since startup.
+     */
+    public long exhausted() {
+        return exhausted.get();
+    }
+
+    private void pause(String operation, int attempt, OptimisticLockingFailureException conflict) {
+        long maxNanos = backoff.toNanos() * attempt;
+        if (maxNanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(maxNanos / 2, maxNanos + 1)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException(operation, attempt, conflict);
+        }
+    }
+}
@@ -4,21 +4,46 @@ import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.Order;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.OrderEvent;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.OrderItem;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
 import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.InsufficientStockException;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.InvalidStatusTransitionException;
+import org.whiletrue.ordermanagementsystem.Domain.Models.BulkOrderResult;
 import org.whiletrue.ordermanagementsystem.Domain.Models.CreateOrderRequest;
 import org.whiletrue.ordermanagementsystem.Domain.Models.OrderItemRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderItemView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderPage;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
+import org.whiletrue.ordermanagementsystem.Repository.OrderEventRepository;
+import org.whiletrue.ordermanagementsystem.Repository.OrderItemRepository;
 import org.whiletrue.ordermanagementsystem.Repository.OrderRepository;
 import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
 import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service responsible for order management operations such as creation, retrieval,
@@ -30,24 +55,46 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductCatalogCache catalogCache;
+    private final OrderEventRepository orderEventRepository;
+    private final OrderStatusService orderStatusService;
+    private final OrderSummaryService orderSummaryService;
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
 
+    static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = "~";
+
     @Autowired
-    public OrderService(OrderRepository orderRepository, UserRepository userRepository, ProductRepository productRepository) {
+    public OrderService(OrderRepository orderRepository, UserRepository userRepository, ProductRepository productRepository,
+                        OrderItemRepository orderItemRepository, ProductCatalogCache catalogCache,
+                        OrderEventRepository orderEventRepository, OrderStatusService orderStatusService,
+                        OrderSummaryService orderSummaryService) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.catalogCache = catalogCache;
+        this.orderEventRepository = orderEventRepository;
+        this.orderStatusService = orderStatusService;
+        this.orderSummaryService = orderSummaryService;
     }
 
     /**
-     * Creates a new order based on the request details.
+     * Creates a new order based on the request details and reserves its items in stock.
+     * <p>
+     * The order, its outbox event and the order summaries are all written before the stock is
+     * reserved, so the product rows stay locked only for the few conditional updates that end
+     * the transaction. If a product runs short, the whole transaction is rolled back.
      *
      * @param request The order creation request including user ID and order items.
      * @return The created Order object.
-     * @throws EntityNotFoundException if the user or any product is not found.
+     * @throws EntityNotFoundException   if the user or any product is not found.
+     * @throws InsufficientStockException if a product does not have enough stock left.
      */
+    @Transactional
     public Order createOrder(CreateOrderRequest request) {
-        logger.info("Creating order for user with ID: {}", request.userId());
+        logger.debug("Creating order for user with ID: {}", request.userId());
 
         User user = userRepository.findById(request.userId())
                 .orElseThrow(() -> {
@@ -55,6 +102,100 @@ public class OrderService {
                     return new EntityNotFoundException("User not found");
                 });
 
+        Map<Long, Product> products = loadProducts(productIdsOf(List.of(request)));
+        List<Long> missingIds = missingProductIds(request, products);
+        if (!missingIds.isEmpty()) {
+            logger.error("Products not found with IDs: {}", missingIds);
+            throw new EntityNotFoundException("Products not found: " + missingIds);
+        }
+
+        Set<Long> tracked = productRepository.findTrackedIds(products.keySet());
+        Order savedOrder = orderRepository.save(buildOrder(user, request, products, tracked));
+        orderEventRepository.save(eventOf(savedOrder, OrderStatus.CREATED));
+        orderSummaryService.recordCreated(List.of(savedOrder));
+        orderRepository.flush();
+
+        reserveStock(Map.of(0, request), tracked).values().stream().findFirst().ifPresent(productId -> {
+            logger.warn("Insufficient stock for product with ID: {}", productId);
+            throw new InsufficientStockException(productId);
+        });
+
+        logger.info("Order created successfully with ID: {}", savedOrder.getId());
+        return savedOrder;
+    }
+
+    /**
+     * Creates a chunk of orders in a single transaction.
+     * <p>
+     * Users and products referenced anywhere in the chunk are loaded with one query each
+     * and shared by all orders in it. Records whose user or products do not exist, or whose
+     * items are out of stock, are reported as failed without affecting the rest of the chunk.
+     *
+     * @param requestsByIndex The order requests keyed by their position in the import.
+     * @return One result per request, in the iteration order of the given map.
+     */
+    @Transactional
+    public List<BulkOrderResult> createOrders(Map<Integer, CreateOrderRequest> requestsByIndex) {
+        logger.debug("Creating chunk of {} order(s)", requestsByIndex.size());
+
+        Set<Long> userIds = requestsByIndex.values().stream()
+                .map(CreateOrderRequest::userId)
+                .collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Product> products = loadProducts(productIdsOf(requestsByIndex.values()));
+
+        Map<Integer, String> errors = new HashMap<>();
+        Map<Integer, CreateOrderRequest> valid = new LinkedHashMap<>();
+        requestsByIndex.forEach((index, request) -> {
+            List<Long> missingIds = missingProductIds(request, products);
+            if (!users.containsKey(request.userId())) {
+                errors.put(index, "User not found: " + request.userId());
+            } else if (!missingIds.isEmpty()) {
+                errors.put(index, "Products not found: " + missingIds);
+            } else {
+                valid.put(index, request);
+            }
+        });
+
+        Set<Long> tracked = productRepository.findTrackedIds(products.keySet());
+        Map<Integer, Long> shortages = reserveStock(valid, tracked);
+        Map<Integer, Order> orders = new LinkedHashMap<>();
+        valid.forEach((index, request) -> {
+            Long productId = shortages.get(index);
+            if (productId != null) {
+                errors.put(index, "Insufficient stock for product: " + productId);
+            } else {
+                orders.put(index, buildOrder(users.get(request.userId()), request, products, tracked));
+            }
+        });
+
+        orderRepository.saveAll(orders.values());
+        orderEventRepository.saveAll(orders.values().stream()
+                .map(order -> eventOf(order, OrderStatus.CREATED))
+                .toList());
+        orderSummaryService.recordCreated(orders.values());
+
+        List<BulkOrderResult> results = new ArrayList<>(requestsByIndex.size());
+        for (Integer index : requestsByIndex.keySet()) {
+            Order order = orders.get(index);
+            results.add(order != null
+                    ? BulkOrderResult.created(index, order.getId())
+                    : BulkOrderResult.failed(index, errors.get(index)));
+        }
+
+        logger.info("Chunk stored: {} created, {} rejected", orders.size(), errors.size());
+        return results;
+    }
+
+    /**
+     * Builds a new order with one item per requested line. Each item keeps the current product
+     * price, and the order keeps its total amount and item count, so they never need to be
+     * recomputed from the products later. Items of products that track stock record their quantity
+     * as reserved, so cancelling the order returns exactly what {@link #reserveStock} took out.
+     * Package-private for the JMH benchmarks.
+     */
+    static Order buildOrder(User user, CreateOrderRequest request, Map<Long, Product> products, Set<Long> tracked) {
         List<OrderItem> items = new ArrayList<>();
         Order order = Order.builder()
                 .user(user)
@@ -62,28 +203,117 @@ public class OrderService {
                 .createdAt(LocalDateTime.now())
                 .build();
 
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        int itemCount = 0;
         for (OrderItemRequest itemReq : request.items()) {
-            Product product = productRepository.findById(itemReq.productId())
-                    .orElseThrow(() -> {
-                        logger.error("Product not found with ID: {}", itemReq.productId());
-                        return new EntityNotFoundException("Product not found");
-                    });
-
+            Product product = products.get(itemReq.productId());
             OrderItem item = OrderItem.builder()
                     .product(product)
                     .quantity(itemReq.quantity())
+                    .unitPrice(product.getPrice())
+                    .reservedQuantity(tracked.contains(itemReq.productId()) ? itemReq.quantity() : null)
                     .order(order)
                     .build();
 
             items.add(item);
-            logger.debug("Added item: productId={}, quantity={}", itemReq.productId(), itemReq.quantity());
+            if (product.getPrice() != null) {
+                totalAmount = totalAmount.add(product.getPrice().multiply(BigDecimal.valueOf(itemReq.quantity())));
+            }
+            itemCount += itemReq.quantity();
         }
 
         order.setItems(items);
-        Order savedOrder = orderRepository.save(order);
+        order.setTotalAmount(totalAmount);
+        order.setItemCount(itemCount);
+        return order;
+    }
 
-        logger.info("Order created successfully with ID: {}", savedOrder.getId());
-        return savedOrder;
+    /**
+     * Reserves the requested quantities of all products with tracked stock for the given requests.
+     * Whether a product tracks stock is taken from the database, not from the cached products,
+     * so a product that just started tracking stock is reserved on every instance.
+     * <p>
+     * Every reservation is a single conditional update that only succeeds while enough stock
+     * is left, so concurrent orders can never take more than there is, and no product row is
+     * read and locked beforehand. The reservations of all requests are made together in
+     * ascending product ID order, so every transaction, whether it stores one order or a whole
+     * chunk, locks product rows in the same order and concurrent transactions cannot deadlock.
+     * If a product runs short for a request, the reservations already made for that request
+     * are released again; their rows are already locked by this transaction, so releasing them
+     * takes no new lock.
+     *
+     * @param requests The requests to reserve stock for, keyed by their index; requests sharing
+     *                 a product are served in the iteration order of this map.
+     * @param tracked  The IDs of the requested products that track their stock.
+     * @return The ID of the product that ran short, for every request that could not be reserved.
+     */
+    private Map<Integer, Long> reserveStock(Map<Integer, CreateOrderRequest> requests, Set<Long> tracked) {
+        NavigableMap<Long, Map<Integer, Integer>> demand = new TreeMap<>();
+        requests.forEach((index, request) -> {
+            for (OrderItemRequest item : request.items()) {
+                if (tracked.contains(item.productId())) {
+                    demand.computeIfAbsent(item.productId(), id -> new LinkedHashMap<>())
+                            .merge(index, item.quantity(), Integer::sum);
+                }
+            }
+        });
+
+        Map<Integer, Long> shortages = new HashMap<>();
+        Map<Integer, Map<Long, Integer>> reserved = new HashMap<>();
+        demand.forEach((productId, quantities) -> quantities.forEach((index, quantity) -> {
+            if (shortages.containsKey(index)) {
+                return;
+            }
+            if (productRepository.reserveStock(productId, quantity) == 0) {
+                shortages.put(index, productId);
+                Map<Long, Integer> released = reserved.remove(index);
+                if (released != null) {
+                    released.forEach(productRepository::releaseStock);
+                }
+            } else {
+                reserved.computeIfAbsent(index, i -> new LinkedHashMap<>()).put(productId, quantity);
+            }
+        }));
+        return shortages;
+    }
+
+    /**
+     * Builds the outbox event announcing that the order reached the given status. Saved in the same
+     * transaction as the order change, so the event exists exactly when the change was committed.
+     */
+    private static OrderEvent eventOf(Order order, OrderStatus status) {
+        return OrderEvent.builder()
+                .orderId(order.getId())
+                .userId(order.getUser().getId())
+                .status(status)
+                .totalAmount(order.getTotalAmount())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Resolves the given products from the catalog cache, loading all uncached ones in a single query.
+     *
+     * @param productIds The IDs of the products to load.
+     * @return The products that exist, keyed by their ID.
+     */
+    private Map<Long, Product> loadProducts(Set<Long> productIds) {
+        return catalogCache.getAllById(productIds, productRepository::findAllById);
+    }
+
+    private static Set<Long> productIdsOf(Collection<CreateOrderRequest> requests) {
+        return requests.stream()
+                .flatMap(request -> request.items().stream())
+                .map(OrderItemRequest::productId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static List<Long> missingProductIds(CreateOrderRequest request, Map<Long, Product> products) {
+        return request.items().stream()
+                .map(OrderItemRequest::productId)
+                .filter(id -> !products.containsKey(id))
+                .distinct()
+                .toList();
     }
 
     /**
@@ -94,7 +324,7 @@ public class OrderService {
      * @throws EntityNotFoundException if the order is not found.
      */
     public Order getOrder(Long id) {
-        logger.info("Fetching order with ID: {}", id);
+        logger.debug("Fetching order with ID: {}", id);
         return orderRepository.findById(id)
                 .orElseThrow(() -> {
                     logger.error("Order not found with ID: {}", id);
@@ -103,26 +333,108 @@ public class OrderService {
     }
 
     /**
-     * Cancels an existing order by updating its status.
+     * Retrieves the read-only view of an order by its ID.
+     * <p>
+     * The order row and its items with their products are read with one query each,
+     * independent of the number of items, and no user data besides the ID is exposed.
+     *
+     * @param id The order ID.
+     * @return The order view including its items.
+     * @throws EntityNotFoundException if the order is not found.
+     */
+    public OrderView getOrderView(Long id) {
+        logger.debug("Fetching order view with ID: {}", id);
+        OrderView order = orderRepository.findViewById(id)
+                .orElseThrow(() -> {
+                    logger.error("Order not found with ID: {}", id);
+                    return new EntityNotFoundException("Order not found");
+                });
+        return withItems(List.of(order)).get(0);
+    }
+
+    /**
+     * Cancels an existing order and returns its items to stock.
+     * Cancelling an order that is already cancelled has no effect, so stock is released only once.
      *
      * @param id The order ID.
+     * @throws EntityNotFoundException          if the order is not found.
+     * @throws InvalidStatusTransitionException if the order has already shipped.
      */
     public void cancelOrder(Long id) {
-        logger.info("Cancelling order with ID: {}", id);
-        Order order = getOrder(id);
-        order.setStatus(OrderStatus.CANCELLED);
-        orderRepository.save(order);
-        logger.info("Order with ID {} has been cancelled", id);
+        orderStatusService.changeStatus(id, OrderStatus.CANCELLED);
     }
 
     /**
-     * Retrieves all orders placed by a specific user.
+     * Retrieves one page of the orders placed by a specific user, newest first.
+     * <p>
+     * Pages are addressed with an opaque keyset cursor on {@code (createdAt, id)}, so reading
+     * deep pages costs the same as reading the first one. Orders and their items are read as
+     * views with one query each, regardless of the page size.
      *
      * @param userId The user ID.
-     * @return A list of Order objects.
+     * @param cursor The {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param size   The maximum number of orders to return, capped at {@value #MAX_PAGE_SIZE}.
+     * @return The page of orders and the cursor of the next page, if there is one.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    public OrderPage getOrdersByUser(Long userId, String cursor, int size) {
+        logger.debug("Fetching orders for user with ID: {}, cursor={}, size={}", userId, cursor, size);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<OrderView> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findViewsByUser(userId, limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            orders = orderRepository.findViewsByUserBefore(userId,
+                    LocalDateTime.parse(position[0]), Long.valueOf(position[1]), limit);
+        }
+
+        boolean hasMore = orders.size() > pageSize;
+        if (hasMore) {
+            orders = orders.subList(0, pageSize);
+        }
+
+        String nextCursor = hasMore ? encodeCursor(orders.get(orders.size() - 1)) : null;
+        return new OrderPage(withItems(orders), nextCursor);
+    }
+
+    /**
+     * Loads the items of all given orders with a single query and attaches them to their orders.
      */
-    public List<Order> getOrdersByUser(Long userId) {
-        logger.info("Fetching orders for user with ID: {}", userId);
-        return orderRepository.findByUserId(userId);
+    private List<OrderView> withItems(List<OrderView> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+
+        Map<Long, List<OrderItemView>> itemsByOrder = orderItemRepository
+                .findViewsByOrderIds(orders.stream().map(OrderView::id).toList()).stream()
+                .collect(Collectors.groupingBy(OrderItemView::orderId));
+
+        return orders.stream()
+                .map(order -> order.withItems(itemsByOrder.getOrDefault(order.id(), List.of())))
+                .toList();
+    }
+
+    private static String encodeCursor(OrderView last) {
+        String position = last.createdAt() + CURSOR_SEPARATOR + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split(CURSOR_SEPARATOR, 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            logger.error("Invalid order cursor: {}", cursor);
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
     }
 }
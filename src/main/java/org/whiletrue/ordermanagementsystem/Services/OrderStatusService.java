@@ -0,0 +1,163 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.OrderEvent;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.InvalidStatusTransitionException;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.ReservedStockView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.StatusChangeResponse;
+import org.whiletrue.ordermanagementsystem.Repository.OrderEventRepository;
+import org.whiletrue.ordermanagementsystem.Repository.OrderItemRepository;
+import org.whiletrue.ordermanagementsystem.Repository.OrderRepository;
+import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service responsible for moving orders through their lifecycle as defined by
+ * {@link OrderStatus#allowedPredecessors()}.
+ * <p>
+ * Every change locks the orders that are in an allowed status and updates exactly those, so
+ * concurrent changes of the same order cannot both succeed and orders are never loaded as
+ * entities. Each change writes an outbox event and updates the order summaries, and
+ * cancelling returns the stock the order reserved.
+ */
+@Service
+public class OrderStatusService {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+    private final OrderEventRepository orderEventRepository;
+    private final OrderSummaryService orderSummaryService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusService.class);
+
+    @Autowired
+    public OrderStatusService(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+                              ProductRepository productRepository, OrderEventRepository orderEventRepository,
+                              OrderSummaryService orderSummaryService, PlatformTransactionManager transactionManager,
+                              @Value("${orders.status.chunk-size:1000}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.productRepository = productRepository;
+        this.orderEventRepository = orderEventRepository;
+        this.orderSummaryService = orderSummaryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Moves an order to the given status. Requesting the status the order already has is a no-op.
+     *
+     * @param id     The order ID.
+     * @param target The new status.
+     * @throws EntityNotFoundException          if the order is not found.
+     * @throws InvalidStatusTransitionException if the order cannot move from its current status to the target.
+     */
+    @Transactional
+    public void changeStatus(Long id, OrderStatus target) {
+        logger.info("Changing status of order with ID {} to {}", id, target);
+
+        if (!changeChunk(List.of(id), target).isEmpty()) {
+            logger.info("Order with ID {} is now {}", id, target);
+            return;
+        }
+
+        OrderView order = orderRepository.findViewById(id)
+                .orElseThrow(() -> {
+                    logger.error("Order not found with ID: {}", id);
+                    return new EntityNotFoundException("Order not found");
+                });
+        if (order.status() == target) {
+            logger.info("Order with ID {} is already {}", id, target);
+            return;
+        }
+        throw new InvalidStatusTransitionException(id, order.status(), target);
+    }
+
+    /**
+     * Moves many orders to the given status, for example a whole warehouse wave to
+     * {@link OrderStatus#SHIPPED}. Orders are processed in chunks of {@code orders.status.chunk-size},
+     * each with one locking read and one update statement in its own transaction. Orders that do
+     * not exist or are not in an allowed status are skipped and reported.
+     *
+     * @param orderIds The IDs of the orders to change.
+     * @param target   The new status.
+     * @return How many orders changed and which ones did not.
+     */
+    public StatusChangeResponse changeStatuses(List<Long> orderIds, OrderStatus target) {
+        List<Long> ids = orderIds.stream().distinct().toList();
+        logger.info("Changing status of {} order(s) to {}", ids.size(), target);
+
+        Set<Long> changed = new HashSet<>();
+        for (int start = 0; start < ids.size(); start += chunkSize) {
+            List<Long> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+            List<OrderView> orders = transactionTemplate.execute(status -> changeChunk(chunk, target));
+            if (orders != null) {
+                orders.forEach(order -> changed.add(order.id()));
+            }
+        }
+
+        List<Long> unchanged = ids.stream().filter(id -> !changed.contains(id)).toList();
+        logger.info("{} order(s) changed to {}, {} unchanged", changed.size(), target, unchanged.size());
+        return new StatusChangeResponse(target, ids.size(), changed.size(), unchanged);
+    }
+
+    private List<OrderView> changeChunk(List<Long> ids, OrderStatus target) {
+        Set<OrderStatus> from = target.allowedPredecessors();
+        if (from.isEmpty()) {
+            return List.of();
+        }
+
+        // A bare conditional update would not tell which orders it changed nor from which status,
+        // and both are needed for the events, the summaries and the stock returned on cancel.
+        // Locking the eligible rows first keeps concurrent changes from moving them in between.
+        List<OrderView> orders = orderRepository.lockViewsByIdsAndStatus(ids, from);
+        if (!orders.isEmpty()) {
+            orderRepository.changeStatuses(orders.stream().map(OrderView::id).toList(), from, target);
+            afterChange(orders, target);
+        }
+        return orders;
+    }
+
+    /**
+     * Writes the outbox events of orders that just changed, updates the order summaries and,
+     * when the orders were cancelled, returns the stock their items reserved in ascending product ID order.
+     *
+     * @param orders The changed orders, with the status they had before the change.
+     */
+    private void afterChange(List<OrderView> orders, OrderStatus target) {
+        if (target == OrderStatus.CANCELLED) {
+            for (ReservedStockView reserved : orderItemRepository.findReservedStockByOrderIds(
+                    orders.stream().map(OrderView::id).toList())) {
+                productRepository.releaseStock(reserved.productId(), Math.toIntExact(reserved.quantity()));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        orderEventRepository.saveAll(orders.stream()
+                .map(order -> OrderEvent.builder()
+                        .orderId(order.id())
+                        .userId(order.userId())
+                        .status(target)
+                        .totalAmount(order.totalAmount())
+                        .occurredAt(now)
+                        .build())
+                .toList());
+        orderSummaryService.recordStatusChange(orders, target);
+    }
+}
@@ -0,0 +1,31 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-time job that recomputes the order summaries from all orders, see {@link OrderSummaryService#rebuild()}.
+ * <p>
+ * Enabled with {@code orders.summary.rebuild-on-startup=true}; runs once at startup. Use it to
+ * fill the summaries when they are introduced against existing orders or to repair drift.
+ * There is deliberately no endpoint for it, since the rebuild must not run while orders are written.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.summary.rebuild-on-startup", havingValue = "true")
+public class OrderSummaryRebuild implements ApplicationRunner {
+
+    private final OrderSummaryService orderSummaryService;
+
+    @Autowired
+    public OrderSummaryRebuild(OrderSummaryService orderSummaryService) {
+        this.orderSummaryService = orderSummaryService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        orderSummaryService.rebuild();
+    }
+}
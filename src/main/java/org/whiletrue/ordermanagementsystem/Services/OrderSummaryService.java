@@ -0,0 +1,273 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Order;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.UserOrderStats;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Models.DailyRevenueView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderStatusSummary;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderStatusTotal;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.UserOrderStatsPage;
+import org.whiletrue.ordermanagementsystem.Repository.DailyRevenueRepository;
+import org.whiletrue.ordermanagementsystem.Repository.OrderStatusCountRepository;
+import org.whiletrue.ordermanagementsystem.Repository.UserOrderStatsRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service that keeps order counts per status, per user and per day in aggregate tables for reporting.
+ * <p>
+ * The aggregates are adjusted by upserts in the same transaction that creates or changes the
+ * orders, so reading them never touches the orders themselves and costs the same however many
+ * orders exist. Status and day counters are spread over {@code orders.summary.stripes} slots
+ * picked at random, so concurrent orders seldom wait for each other on the same counter row.
+ * Rows are always adjusted in the same order, statuses first, then users, then days, each by
+ * ascending key, so concurrent transactions cannot deadlock on them.
+ * <p>
+ * The upserts are atomic on PostgreSQL. Databases that emulate them with {@code MERGE}, such as
+ * H2, may fail when two transactions insert the same new row at once, so the slots of every
+ * status and of the current and next day are created ahead of time.
+ */
+@Service
+public class OrderSummaryService {
+
+    private final OrderStatusCountRepository statusCountRepository;
+    private final UserOrderStatsRepository userStatsRepository;
+    private final DailyRevenueRepository dailyRevenueRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int stripes;
+    private static final Logger logger = LoggerFactory.getLogger(OrderSummaryService.class);
+
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_REVENUE_DAYS = 366;
+
+    @Autowired
+    public OrderSummaryService(OrderStatusCountRepository statusCountRepository,
+                               UserOrderStatsRepository userStatsRepository,
+                               DailyRevenueRepository dailyRevenueRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${orders.summary.stripes:8}") int stripes) {
+        this.statusCountRepository = statusCountRepository;
+        this.userStatsRepository = userStatsRepository;
+        this.dailyRevenueRepository = dailyRevenueRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = stripes;
+    }
+
+    /**
+     * Creates the missing slots of every status and of today and tomorrow with zero counts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${orders.summary.slot-interval:1h}",
+            fixedDelayString = "${orders.summary.slot-interval:1h}")
+    public void createSlots() {
+        transactionTemplate.executeWithoutResult(status -> addSlots());
+    }
+
+    private void addSlots() {
+        LocalDate today = LocalDate.now();
+        for (int slot = 0; slot < stripes; slot++) {
+            for (OrderStatus status : OrderStatus.values()) {
+                statusCountRepository.add(status, slot, 0);
+            }
+            dailyRevenueRepository.add(today, slot, 0, BigDecimal.ZERO);
+            dailyRevenueRepository.add(today.plusDays(1), slot, 0, BigDecimal.ZERO);
+        }
+    }
+
+    /**
+     * Counts newly created orders. Must be called in the transaction that creates them.
+     *
+     * @param orders The created orders.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        Map<OrderStatus, Long> statuses = new TreeMap<>(Map.of(OrderStatus.CREATED, (long) orders.size()));
+        Map<Long, Delta> users = new TreeMap<>();
+        Map<LocalDate, Delta> days = new TreeMap<>();
+        for (Order order : orders) {
+            BigDecimal amount = amountOf(order.getTotalAmount());
+            users.merge(order.getUser().getId(), new Delta(1, 0, amount), Delta::plus);
+            days.merge(order.getCreatedAt().toLocalDate(), new Delta(1, 0, amount), Delta::plus);
+        }
+        apply(statuses, users, days);
+    }
+
+    /**
+     * Moves orders from their previous status to the target. Cancelled orders are counted as
+     * cancelled for their user and are taken out of the revenue of the day they were placed.
+     * Must be called in the transaction that changes them.
+     *
+     * @param orders The changed orders, with the status they had before the change.
+     * @param target The new status.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Collection<OrderView> orders, OrderStatus target) {
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        Map<OrderStatus, Long> statuses = new TreeMap<>();
+        Map<Long, Delta> users = new TreeMap<>();
+        Map<LocalDate, Delta> days = new TreeMap<>();
+        for (OrderView order : orders) {
+            statuses.merge(order.status(), -1L, Long::sum);
+            statuses.merge(target, 1L, Long::sum);
+            if (target == OrderStatus.CANCELLED) {
+                BigDecimal amount = amountOf(order.totalAmount()).negate();
+                users.merge(order.userId(), new Delta(0, 1, amount), Delta::plus);
+                days.merge(order.createdAt().toLocalDate(), new Delta(-1, 0, amount), Delta::plus);
+            }
+        }
+        apply(statuses, users, days);
+    }
+
+    private void apply(Map<OrderStatus, Long> statuses, Map<Long, Delta> users, Map<LocalDate, Delta> days) {
+        int slot = ThreadLocalRandom.current().nextInt(stripes);
+        statuses.forEach((status, delta) -> {
+            if (delta != 0) {
+                statusCountRepository.add(status, slot, delta);
+            }
+        });
+        users.forEach((userId, delta) ->
+                userStatsRepository.add(userId, delta.orders(), delta.cancelled(), delta.amount()));
+        days.forEach((date, delta) ->
+                dailyRevenueRepository.add(date, slot, delta.orders(), delta.amount()));
+    }
+
+    /**
+     * Retrieves the number of orders in every status.
+     *
+     * @return The order count per status, including statuses without orders, and their sum.
+     */
+    public OrderStatusSummary getStatusSummary() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (OrderStatusTotal total : statusCountRepository.sumByStatus()) {
+            counts.put(total.status(), total.orders());
+        }
+        return new OrderStatusSummary(counts, counts.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    /**
+     * Retrieves the order statistics of a user. Users without orders have all counts at zero.
+     *
+     * @param userId The user ID.
+     * @return The statistics of the user.
+     */
+    public UserOrderStats getUserStats(Long userId) {
+        return userStatsRepository.findById(userId)
+                .orElseGet(() -> new UserOrderStats(userId, 0L, 0L, BigDecimal.ZERO));
+    }
+
+    /**
+     * Retrieves the order statistics of the users following the given user ID, using keyset
+     * pagination. Only users that placed orders are included.
+     *
+     * @param afterUserId The {@code lastUserId} of the previous page, or {@code null} for the first page.
+     * @param size        The page size, capped at {@value #MAX_PAGE_SIZE}.
+     * @return The statistics of the page and whether another page follows.
+     */
+    public UserOrderStatsPage getUserStatsAfter(Long afterUserId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<UserOrderStats> users = userStatsRepository.findByUserIdGreaterThanOrderByUserIdAsc(
+                afterUserId == null ? 0L : afterUserId, Limit.of(pageSize + 1));
+
+        boolean hasNext = users.size() > pageSize;
+        if (hasNext) {
+            users = users.subList(0, pageSize);
+        }
+        return new UserOrderStatsPage(users, hasNext, users.isEmpty() ? null : users.get(users.size() - 1).getUserId());
+    }
+
+    /**
+     * Retrieves the orders and revenue of every day in a range, excluding cancelled orders.
+     *
+     * @param from The first day, inclusive.
+     * @param to   The last day, inclusive.
+     * @return One entry per day in ascending order, with zeros for days without orders.
+     * @throws IllegalArgumentException if the range is empty or longer than {@value #MAX_REVENUE_DAYS} days.
+     */
+    public List<DailyRevenueView> getDailyRevenue(LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_REVENUE_DAYS) {
+            throw new IllegalArgumentException("Date range must cover 1 to " + MAX_REVENUE_DAYS + " days");
+        }
+
+        Map<LocalDate, DailyRevenueView> byDate = dailyRevenueRepository.sumByDate(from, to).stream()
+                .collect(Collectors.toMap(DailyRevenueView::date, Function.identity()));
+        List<DailyRevenueView> revenue = new ArrayList<>((int) days);
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            revenue.add(byDate.getOrDefault(date, new DailyRevenueView(date, 0L, BigDecimal.ZERO)));
+        }
+        return revenue;
+    }
+
+    /**
+     * Recomputes all aggregates from the orders in one transaction, repairing any drift.
+     * <p>
+     * This scans every order, and orders written while it runs may be counted twice or not at
+     * all, so run it while order writes are paused, for example right after deploying the
+     * aggregate tables against existing orders.
+     *
+     * @return The rebuilt order count per status.
+     */
+    public OrderStatusSummary rebuild() {
+        logger.info("Rebuilding order summaries");
+        transactionTemplate.executeWithoutResult(status -> {
+            statusCountRepository.deleteAllInBatch();
+            userStatsRepository.deleteAllInBatch();
+            dailyRevenueRepository.deleteAllInBatch();
+            statusCountRepository.rebuild();
+            int users = userStatsRepository.rebuild(OrderStatus.CANCELLED);
+            int days = dailyRevenueRepository.rebuild(OrderStatus.CANCELLED);
+            addSlots();
+            logger.info("Rebuilt order summaries of {} user(s) and {} day(s)", users, days);
+        });
+
+        OrderStatusSummary summary = getStatusSummary();
+        logger.info("Order summaries rebuilt, {} order(s) counted", summary.total());
+        return summary;
+    }
+
+    private static BigDecimal amountOf(BigDecimal totalAmount) {
+        return totalAmount == null ? BigDecimal.ZERO : totalAmount;
+    }
+
+    private record Delta(long orders, long cancelled, BigDecimal amount) {
+
+        Delta plus(Delta other) {
+            return new Delta(orders + other.orders, cancelled + other.cancelled, amount.add(other.amount));
+        }
+    }
+}
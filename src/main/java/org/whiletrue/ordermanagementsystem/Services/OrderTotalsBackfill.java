@@ -0,0 +1,79 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.whiletrue.ordermanagementsystem.Repository.OrderItemRepository;
+import org.whiletrue.ordermanagementsystem.Repository.OrderRepository;
+
+/**
+ * One-time job that fills in the unit prices, totals and item counts of orders created
+ * before they were recorded at write time.
+ * <p>
+ * Enabled with {@code orders.totals-backfill.enabled=true}; runs once at startup. Orders are
+ * processed in ID ranges of {@code orders.totals-backfill.batch-size}, each in its own
+ * transaction, so the job can be interrupted and restarted safely. Missing unit prices are
+ * taken from the current product price, which is the best information left for old orders.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.totals-backfill.enabled", havingValue = "true")
+public class OrderTotalsBackfill implements ApplicationRunner {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private static final Logger logger = LoggerFactory.getLogger(OrderTotalsBackfill.class);
+
+    @Autowired
+    public OrderTotalsBackfill(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${orders.totals-backfill.batch-size:5000}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfill();
+    }
+
+    /**
+     * Backfills every order that has no total yet.
+     *
+     * @return The number of orders updated.
+     */
+    public int backfill() {
+        Long minId = orderRepository.findMinIdWithoutTotals();
+        Long maxId = orderRepository.findMaxIdWithoutTotals();
+        if (minId == null) {
+            logger.info("No orders without totals, nothing to backfill");
+            return 0;
+        }
+
+        logger.info("Backfilling order totals for IDs {} to {} in batches of {}", minId, maxId, batchSize);
+        int updated = 0;
+        for (long start = minId; start <= maxId; start += batchSize) {
+            long fromId = start;
+            long toId = Math.min(start + batchSize - 1, maxId);
+            Integer batch = transactionTemplate.execute(status -> {
+                orderItemRepository.backfillUnitPrices(fromId, toId);
+                return orderRepository.backfillTotals(fromId, toId);
+            });
+            updated += batch == null ? 0 : batch;
+            logger.info("Backfilled order totals up to ID {} ({} order(s) so far)", toId, updated);
+        }
+
+        logger.info("Order totals backfill finished, {} order(s) updated", updated);
+        return updated;
+    }
+}
@@ -0,0 +1,189 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Models.CatalogCacheStats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the product catalog.
+ * <p>
+ * Holds individual products keyed by ID for order creation, and a snapshot of the complete
+ * listing for {@link ProductService#getAllProducts()}. Both are bounded by the configured
+ * maximum size (least recently used products are dropped first, and a listing larger than
+ * the bound is not cached) and expire after the configured TTL, which also limits how long
+ * changes made by other instances stay invisible. Local changes go through
+ * {@link #put(Product)} and {@link #evict(Long)}.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<Long, Entry> products;
+    private Listing listing;
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+
+    @Autowired
+    public ProductCatalogCache(@Value("${catalog.cache.max-size:50000}") int maxSize,
+                               @Value("${catalog.cache.ttl:5m}") Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    ProductCatalogCache(int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.products = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > ProductCatalogCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the complete product listing, loading it on a miss.
+     *
+     * @param loader Loads all products.
+     * @return All products.
+     */
+    public List<Product> getAll(Supplier<List<Product>> loader) {
+        Instant now = clock.instant();
+        long loadGeneration;
+        synchronized (this) {
+            if (listing != null && listing.expiresAt().isAfter(now)) {
+                hits.incrementAndGet();
+                return listing.products();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        List<Product> loaded = List.copyOf(timed(loader));
+        synchronized (this) {
+            // Skip caching if the catalog changed while loading, the result may already be stale
+            if (loadGeneration == generation && loaded.size() <= maxSize) {
+                listing = new Listing(loaded, now.plus(ttl));
+                loaded.forEach(product -> products.put(product.getId(), new Entry(product, now.plus(ttl))));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the products with the given IDs. Cached products are served from memory,
+     * all others are loaded with a single call to the loader.
+     *
+     * @param ids    The product IDs.
+     * @param loader Loads the products with the given IDs.
+     * @return The products that exist, keyed by their ID.
+     */
+    public Map<Long, Product> getAllById(Set<Long> ids, Function<Set<Long>, List<Product>> loader) {
+        Instant now = clock.instant();
+        Map<Long, Product> found = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+            for (Long id : ids) {
+                Entry entry = products.get(id);
+                if (entry != null && entry.expiresAt().isAfter(now)) {
+                    found.put(id, entry.product());
+                } else {
+                    missing.add(id);
+                }
+            }
+        }
+        hits.addAndGet(found.size());
+        misses.addAndGet(missing.size());
+
+        if (!missing.isEmpty()) {
+            List<Product> loaded = timed(() -> loader.apply(missing));
+            synchronized (this) {
+                if (loadGeneration == generation) {
+                    loaded.forEach(product -> products.put(product.getId(), new Entry(product, now.plus(ttl))));
+                }
+            }
+            loaded.forEach(product -> found.put(product.getId(), product));
+        }
+        return found;
+    }
+
+    /**
+     * Caches a newly stored product and drops the listing snapshot, which no longer contains it.
+     *
+     * @param product The stored product.
+     */
+    public synchronized void put(Product product) {
+        products.put(product.getId(), new Entry(product, clock.instant().plus(ttl)));
+        listing = null;
+        generation++;
+    }
+
+    /**
+     * Removes a product and drops the listing snapshot, which still contains it.
+     *
+     * @param id The ID of the product.
+     */
+    public synchronized void evict(Long id) {
+        products.remove(id);
+        listing = null;
+        generation++;
+    }
+
+    /**
+     * Returns hit ratio and load latency since startup together with the number of cached products.
+     */
+    public CatalogCacheStats stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long loadCount = loads.get();
+        int size;
+        synchronized (this) {
+            size = products.size();
+        }
+        return new CatalogCacheStats(
+                hitCount,
+                missCount,
+                hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount),
+                loadCount,
+                loadCount == 0 ? 0.0 : loadNanos.get() / 1_000_000.0 / loadCount,
+                size);
+    }
+
+    private List<Product> timed(Supplier<List<Product>> loader) {
+        long start = System.nanoTime();
+        try {
+            return new ArrayList<>(loader.get());
+        } finally {
+            loads.incrementAndGet();
+            loadNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private record Entry(Product product, Instant expiresAt) {}
+
+    private record Listing(List<Product> products, Instant expiresAt) {}
+}
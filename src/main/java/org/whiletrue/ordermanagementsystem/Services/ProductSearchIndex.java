@@ -0,0 +1,244 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.springframework.stereotype.Component;
+import org.whiletrue.ordermanagementsystem.Domain.Models.ProductNameView;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product names for {@link ProductService#searchProducts(String, int)}.
+ * <p>
+ * Names are split into lower-case tokens without accents, and every token maps to the IDs of
+ * the products whose name contains it. A query matches the products that contain all of its
+ * tokens, the last one as a prefix so that partially typed words match while typing. Tokens
+ * are kept sorted, so a prefix is resolved by a range lookup instead of a scan of the catalog.
+ * <p>
+ * The index only holds IDs and tokens; products themselves are served from the catalog cache.
+ * Local changes go through {@link #index(Long, String)} and {@link #remove(Long)}, while
+ * {@link #rebuild(Supplier)} reloads the whole catalog, which also picks up changes made by
+ * other instances.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Comparator<Hit> RANKING = Comparator.comparing(Hit::wholeWord).reversed()
+            .thenComparingInt(Hit::tokens)
+            .thenComparingLong(Hit::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, String[]> documents = new HashMap<>();
+    private NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private List<ProductNameView> pending;
+
+    /**
+     * Returns the IDs of the products whose name matches the query, best matches first.
+     * Products matching the last query token as a whole word rank before those that only
+     * match it as a prefix, then products with shorter names, then lower IDs.
+     *
+     * @param query The words to search for; the last one may be incomplete.
+     * @param limit The maximum number of IDs to return.
+     * @return The matching product IDs, empty if the query has no words.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(tokenize(query));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        String prefix = terms.remove(terms.size() - 1);
+
+        lock.readLock().lock();
+        try {
+            List<Set<Long>> required = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Set<Long> ids = postings.get(term);
+                if (ids == null) {
+                    return List.of();
+                }
+                required.add(ids);
+            }
+            required.sort(Comparator.comparingInt(Set::size));
+
+            Collection<Long> candidates;
+            if (required.isEmpty()) {
+                candidates = new HashSet<>();
+                prefixed(prefix).values().forEach(candidates::addAll);
+            } else {
+                candidates = required.get(0);
+            }
+
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            for (Long id : candidates) {
+                Hit hit = match(id, required, prefix);
+                if (hit != null) {
+                    best.add(hit);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+            return best.stream().sorted(RANKING).map(Hit::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Hit match(Long id, List<Set<Long>> required, String prefix) {
+        for (int i = 1; i < required.size(); i++) {
+            if (!required.get(i).contains(id)) {
+                return null;
+            }
+        }
+        boolean matched = false;
+        boolean wholeWord = false;
+        String[] tokens = documents.get(id);
+        for (String token : tokens) {
+            if (token.startsWith(prefix)) {
+                matched = true;
+                wholeWord |= token.length() == prefix.length();
+            }
+        }
+        return matched ? new Hit(id, wholeWord, tokens.length) : null;
+    }
+
+    /**
+     * Adds a product to the index or replaces its name.
+     *
+     * @param id   The product ID.
+     * @param name The current product name.
+     */
+    public void index(Long id, String name) {
+        change(new ProductNameView(id, name));
+    }
+
+    /**
+     * Removes a product from the index.
+     *
+     * @param id The product ID.
+     */
+    public void remove(Long id) {
+        change(new ProductNameView(id, null));
+    }
+
+    private void change(ProductNameView product) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(product);
+            }
+            apply(documents, postings, product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index with the given catalog. Searches keep using the previous index until
+     * the new one is complete, and local changes made while the catalog loads are applied to
+     * the new index again, since the loaded catalog may predate them.
+     *
+     * @param loader Loads the ID and name of every product.
+     * @return The number of indexed products.
+     */
+    public synchronized int rebuild(Supplier<List<ProductNameView>> loader) {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, String[]> newDocuments = new HashMap<>();
+        NavigableMap<String, Set<Long>> newPostings = new TreeMap<>();
+        boolean loaded = false;
+        try {
+            loader.get().forEach(product -> apply(newDocuments, newPostings, product));
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    pending.forEach(product -> apply(newDocuments, newPostings, product));
+                    documents = newDocuments;
+                    postings = newPostings;
+                }
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return newDocuments.size();
+    }
+
+    /**
+     * Returns the number of indexed products.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private NavigableMap<String, Set<Long>> prefixed(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static void apply(Map<Long, String[]> documents, NavigableMap<String, Set<Long>> postings,
+                              ProductNameView product) {
+        String[] previous = documents.remove(product.id());
+        if (previous != null) {
+            for (String token : previous) {
+                Set<Long> ids = postings.get(token);
+                ids.remove(product.id());
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        if (product.name() == null) {
+            return;
+        }
+
+        String[] tokens = tokenize(product.name()).toArray(String[]::new);
+        documents.put(product.id(), tokens);
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, key -> new HashSet<>()).add(product.id());
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        Set<String> tokens = new LinkedHashSet<>();
+        Arrays.stream(SEPARATORS.split(normalized.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .forEach(tokens::add);
+        return tokens;
+    }
+
+    private record Hit(Long id, boolean wholeWord, int tokens) {}
+}
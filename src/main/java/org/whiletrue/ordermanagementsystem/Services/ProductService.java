@@ -1,14 +1,39 @@
 package org.whiletrue.ordermanagementsystem.Services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.ConcurrentUpdateException;
+import org.whiletrue.ordermanagementsystem.Domain.Models.CatalogCacheStats;
 import org.whiletrue.ordermanagementsystem.Domain.Models.CreateProductRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.ProductPage;
+import org.whiletrue.ordermanagementsystem.Domain.Models.UpdateProductRequest;
 import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Service responsible for managing product-related operations such as
@@ -18,53 +43,239 @@ import java.util.List;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductCatalogCache catalogCache;
+    private final ProductSearchIndex searchIndex;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final OptimisticLockRetry optimisticLockRetry;
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
 
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_SEARCH_RESULTS = 100;
+
     @Autowired
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductCatalogCache catalogCache,
+                          ProductSearchIndex searchIndex, EntityManager entityManager, ObjectMapper objectMapper,
+                          OptimisticLockRetry optimisticLockRetry) {
         this.productRepository = productRepository;
+        this.catalogCache = catalogCache;
+        this.searchIndex = searchIndex;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.optimisticLockRetry = optimisticLockRetry;
     }
 
     /**
      * Adds a new product to the database.
      *
-     * @param request The request containing product name and price.
+     * @param request The request containing product name, price and optional initial stock.
      * @return The saved Product object.
      */
     public Product addProduct(CreateProductRequest request) {
-        logger.info("Adding new product: name='{}', price={}", request.name(), request.price());
+        logger.debug("Adding new product: name='{}', price={}, stock={}", request.name(), request.price(), request.stock());
 
         Product product = Product.builder()
                 .name(request.name())
                 .price(request.price())
+                .stock(request.stock())
                 .build();
 
         Product savedProduct = productRepository.save(product);
+        catalogCache.put(savedProduct);
+        searchIndex.index(savedProduct.getId(), savedProduct.getName());
         logger.info("Product added successfully with ID: {}", savedProduct.getId());
 
         return savedProduct;
     }
 
     /**
-     * Retrieves all products available in the system.
+     * Retrieves all products available in the system, served from the catalog cache when possible.
      *
      * @return List of all Product objects.
      */
     public List<Product> getAllProducts() {
-        logger.info("Fetching all products");
-        List<Product> products = productRepository.findAll();
-        logger.info("Retrieved {} product(s)", products.size());
+        logger.debug("Fetching all products");
+        List<Product> products = catalogCache.getAll(productRepository::findAll);
+        logger.debug("Retrieved {} product(s)", products.size());
         return products;
     }
 
+    /**
+     * Retrieves one page of products ordered by ID, using offset pagination.
+     *
+     * @param page The zero-based page number.
+     * @param size The page size, capped at {@value #MAX_PAGE_SIZE}.
+     * @return The products of the page and whether another page follows.
+     */
+    public ProductPage getProducts(int page, int size) {
+        logger.debug("Fetching products page {} with size {}", page, size);
+        Slice<Product> slice = productRepository.findAllBy(
+                PageRequest.of(Math.max(page, 0), pageSize(size), Sort.by("id")));
+        return toPage(slice.getContent(), slice.hasNext());
+    }
+
+    /**
+     * Retrieves the products following the given ID, using keyset pagination. Unlike offset
+     * pagination, reading deep into the catalog costs the same as reading its start.
+     *
+     * @param afterId The {@code lastId} of the previous page, or {@code null} for the first page.
+     * @param size    The page size, capped at {@value #MAX_PAGE_SIZE}.
+     * @return The products of the page and whether another page follows.
+     */
+    public ProductPage getProductsAfter(Long afterId, int size) {
+        logger.debug("Fetching products after ID {} with size {}", afterId, size);
+        int pageSize = pageSize(size);
+        List<Product> products = productRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId == null ? 0L : afterId, Limit.of(pageSize + 1));
+
+        boolean hasNext = products.size() > pageSize;
+        return toPage(hasNext ? products.subList(0, pageSize) : products, hasNext);
+    }
+
+    /**
+     * Searches products by name using the in-memory search index, so no query scans the
+     * products table. Every word of the query must occur in the name, and the last word also
+     * matches as a prefix, which makes the search usable for typeahead.
+     *
+     * @param query The words to search for.
+     * @param limit The maximum number of results, capped at {@value #MAX_SEARCH_RESULTS}.
+     * @return The matching products, best matches first.
+     */
+    public List<Product> searchProducts(String query, int limit) {
+        List<Long> ids = searchIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Product> products = catalogCache.getAllById(new LinkedHashSet<>(ids), productRepository::findAllById);
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Rebuilds the search index from the names of all products, at startup and then every
+     * {@code catalog.search.refresh-interval}, which limits how long products added, renamed
+     * or deleted by other instances are missing from search results.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${catalog.search.refresh-interval:5m}",
+            fixedDelayString = "${catalog.search.refresh-interval:5m}")
+    public void rebuildSearchIndex() {
+        long start = System.nanoTime();
+        int size = searchIndex.rebuild(productRepository::findAllNames);
+        logger.info("Indexed {} product name(s) for search in {} ms", size, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Writes the whole catalog to the given stream as a JSON array.
+     * <p>
+     * Products are streamed from the database and serialised one at a time, and each one
+     * is detached once written, so memory use does not depend on the size of the catalog.
+     *
+     * @param out The stream to write to; it is not closed.
+     * @throws IOException if writing fails.
+     */
+    @Transactional(readOnly = true)
+    public void exportProducts(OutputStream out) throws IOException {
+        logger.info("Exporting product catalog");
+        long count = 0;
+        ObjectWriter writer = objectMapper.writerFor(Product.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (Stream<Product> products = productRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                writer.writeValue(generator, product);
+                entityManager.detach(product);
+                count++;
+            }
+            generator.writeEndArray();
+        }
+        logger.info("Exported {} product(s)", count);
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static ProductPage toPage(List<Product> products, boolean hasNext) {
+        Long lastId = products.isEmpty() ? null : products.get(products.size() - 1).getId();
+        return new ProductPage(products, hasNext, lastId);
+    }
+
+    /**
+     * Changes the name and price of a product. The change is checked against the product version
+     * and retried when the product was changed concurrently, for example by a stock reservation.
+     *
+     * @param id      The product ID.
+     * @param request The new name and price.
+     * @return The updated Product object.
+     * @throws EntityNotFoundException   if the product is not found.
+     * @throws ConcurrentUpdateException if the product kept changing concurrently.
+     */
+    public Product updateProduct(Long id, UpdateProductRequest request) {
+        logger.debug("Updating product with ID {}: name='{}', price={}", id, request.name(), request.price());
+
+        Product updatedProduct = optimisticLockRetry.execute("Update of product " + id, () -> {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> {
+                        logger.error("Product not found with ID: {}", id);
+                        return new EntityNotFoundException("Product not found");
+                    });
+            product.setName(request.name());
+            product.setPrice(request.price());
+            return productRepository.saveAndFlush(product);
+        });
+        catalogCache.put(updatedProduct);
+        searchIndex.index(updatedProduct.getId(), updatedProduct.getName());
+        logger.info("Product with ID {} updated to version {}", id, updatedProduct.getVersion());
+
+        return updatedProduct;
+    }
+
     /**
      * Deletes a product by its ID.
      *
      * @param id The ID of the product to delete.
      */
     public void deleteProduct(Long id) {
-        logger.info("Deleting product with ID: {}", id);
+        logger.debug("Deleting product with ID: {}", id);
         productRepository.deleteById(id);
+        catalogCache.evict(id);
+        searchIndex.remove(id);
         logger.info("Product with ID {} has been deleted", id);
     }
+
+    /**
+     * Adds units to the stock of a product. Products whose stock was not tracked so far start
+     * being tracked with the given quantity.
+     *
+     * @param id       The product ID.
+     * @param quantity The number of units to add.
+     * @throws EntityNotFoundException if the product is not found.
+     */
+    @Transactional
+    public void addStock(Long id, int quantity) {
+        logger.info("Adding {} unit(s) to stock of product with ID: {}", quantity, id);
+        if (productRepository.addStock(id, quantity) == 0) {
+            logger.error("Product not found with ID: {}", id);
+            throw new EntityNotFoundException("Product not found");
+        }
+        catalogCache.evict(id);
+    }
+
+    /**
+     * Returns hit ratio and load latency of the catalog cache.
+     *
+     * @return The current cache statistics.
+     */
+    public CatalogCacheStats getCatalogCacheStats() {
+        return catalogCache.stats();
+    }
 }
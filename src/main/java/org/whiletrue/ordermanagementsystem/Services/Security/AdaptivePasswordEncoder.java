@@ -0,0 +1,184 @@
+package org.whiletrue.ordermanagementsystem.Services.Security;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.PasswordHashingBusyException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BCrypt password encoder with a calibrated cost that hashes on a bounded pool of its own.
+ * <p>
+ * The cost is {@code security.password.bcrypt-strength}, or, when that is 0, the highest cost
+ * whose hash takes no longer than {@code security.password.target-hash-time} on this machine,
+ * measured at startup and kept between {@value #MIN_STRENGTH} and {@value #MAX_STRENGTH}.
+ * <p>
+ * Hashing and checking run on {@code security.password.hashing-threads} threads, so logins can
+ * never take more CPU than that from order traffic. The calling thread waits for the result.
+ * When {@code security.password.hashing-queue} calls are already waiting for a thread, further
+ * calls fail right away with {@link PasswordHashingBusyException}.
+ * <p>
+ * Hashes made with a lower cost report that they need {@link #upgradeEncoding(String) upgrading},
+ * so Spring Security stores a new hash on the next successful login. Hashes with a higher cost
+ * are kept, so that instances calibrated to different costs do not re-hash the same passwords
+ * back and forth; lowering the cost takes effect as passwords are changed.
+ */
+@Component
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    static final int MIN_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+    private static final int CALIBRATION_STRENGTH = 8;
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePasswordEncoder.class);
+
+    /**
+     * Constructs the encoder.
+     *
+     * @param strength       The BCrypt cost, or 0 to calibrate it against the target hash time.
+     * @param targetHashTime How long hashing one password should take when calibrating.
+     * @param threads        How many passwords may be hashed at the same time.
+     * @param queueCapacity  How many calls may wait for a hashing thread.
+     */
+    @Autowired
+    public AdaptivePasswordEncoder(@Value("${security.password.bcrypt-strength:0}") int strength,
+                                   @Value("${security.password.target-hash-time:100ms}") Duration targetHashTime,
+                                   @Value("${security.password.hashing-threads:0}") int threads,
+                                   @Value("${security.password.hashing-queue:64}") int queueCapacity) {
+        this(strength > 0 ? strength : calibrate(targetHashTime),
+                threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                queueCapacity);
+    }
+
+    private AdaptivePasswordEncoder(int strength, int threads, int queueCapacity) {
+        this(new BCryptPasswordEncoder(strength), strength, threads, queueCapacity);
+        logger.info("Hashing passwords with BCrypt strength {} on {} thread(s), up to {} waiting",
+                strength, threads, queueCapacity);
+    }
+
+    AdaptivePasswordEncoder(PasswordEncoder delegate, int strength, int threads, int queueCapacity) {
+        this.delegate = delegate;
+        this.strength = strength;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon().factory());
+    }
+
+    /**
+     * Finds the highest BCrypt cost whose hash takes no longer than the target. Each step doubles
+     * the cost, so the time of a cheap hash is measured and extrapolated.
+     *
+     * @param targetHashTime How long hashing one password should take.
+     * @return The cost, between {@value #MIN_STRENGTH} and {@value #MAX_STRENGTH}.
+     */
+    static int calibrate(Duration targetHashTime) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(CALIBRATION_STRENGTH);
+        long fastest = Long.MAX_VALUE;
+        // The first rounds also warm up the JIT and are usually the slowest
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+
+        int steps = (int) Math.floor(Math.log((double) targetHashTime.toNanos() / fastest) / Math.log(2));
+        int calibrated = Math.max(MIN_STRENGTH, Math.min(MAX_STRENGTH, CALIBRATION_STRENGTH + steps));
+        logger.info("Calibrated BCrypt strength {} for a target hash time of {} ({} ms at strength {})",
+                calibrated, targetHashTime, String.format("%.1f", fastest / 1_000_000.0), CALIBRATION_STRENGTH);
+        return calibrated;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Returns whether the given hash was made with a lower cost than the current one.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // BCrypt hashes start with $2a$, $2b$ or $2y$ followed by the two-digit cost
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(6) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) < strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> result;
+        try {
+            result = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            logger.warn("Rejecting password hashing: {} call(s) already waiting", executor.getQueue().size());
+            throw new PasswordHashingBusyException();
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Returns the BCrypt cost new hashes are made with.
+     */
+    public int strength() {
+        return strength;
+    }
+
+    /**
+     * Returns the number of calls currently waiting for a hashing thread.
+     */
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of calls rejected since startup because too many were waiting.
+     */
+    public long rejected() {
+        return rejected.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,14 +1,25 @@
 package org.whiletrue.ordermanagementsystem.Services.Security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service responsible for generating and validating JSON Web Tokens (JWT).
@@ -26,20 +37,80 @@ public class JwtService {
     @Value("${jwt.secret}")
     private String secret;
 
+    /**
+     * How long an issued token stays valid.
+     */
+    @Value("${jwt.expiration:15m}")
+    private Duration expiration;
+
+    /**
+     * When enabled, tokens also carry the user ID and role so that requests can be
+     * authenticated from the token alone, without loading the user.
+     */
+    @Value("${security.jwt.stateless:false}")
+    private boolean stateless;
+
+    /**
+     * Time spent parsing and verifying tokens, split by whether the token was accepted.
+     */
+    private final Timer validParseTimer;
+    private final Timer invalidParseTimer;
+
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
+    @Autowired
+    public JwtService(MeterRegistry meterRegistry) {
+        this.validParseTimer = parseTimer(meterRegistry, "valid");
+        this.invalidParseTimer = parseTimer(meterRegistry, "invalid");
+    }
+
     /**
      * Generates a JWT token for the given authenticated user.
+     * In stateless mode the user ID and role are added as signed claims.
      *
      * @param userDetails The authenticated user's details.
-     * @return A signed JWT token valid for 3 hours.
+     * @return A signed JWT token valid for the configured expiration (15 minutes by default).
      */
     public String generateToken(UserDetails userDetails) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date())
-                .setExpiration(Date.from(LocalDateTime.now().plusHours(3)
-                        .atZone(ZoneId.systemDefault()).toInstant()))
-                .signWith(SignatureAlgorithm.HS256, secret)
-                .compact();
+                .setExpiration(Date.from(LocalDateTime.now().plus(expiration)
+                        .atZone(ZoneId.systemDefault()).toInstant()));
+
+        if (stateless && userDetails instanceof User user) {
+            builder.claim(USER_ID_CLAIM, user.getId())
+                    .claim(ROLE_CLAIM, user.getRole().name());
+        }
+
+        return builder.signWith(SignatureAlgorithm.HS256, secret).compact();
+    }
+
+    /**
+     * Returns how long an issued token stays valid.
+     */
+    public Duration getExpiration() {
+        return expiration;
+    }
+
+    /**
+     * Parses and verifies a JWT token once, returning all of its claims.
+     *
+     * @param token The JWT token.
+     * @return The claims encoded in the token.
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired.
+     */
+    public Claims parseToken(String token) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+            validParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidParseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
     }
 
     /**
@@ -50,8 +121,7 @@ public class JwtService {
      * @throws io.jsonwebtoken.JwtException if the token is invalid or expired.
      */
     public String extractUsername(String token) {
-        return Jwts.parser().setSigningKey(secret).parseClaimsJws(token)
-                .getBody().getSubject();
+        return parseToken(token).getSubject();
     }
 
     /**
@@ -63,6 +133,51 @@ public class JwtService {
      * @return {@code true} if the token is valid and matches the user, {@code false} otherwise.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        return extractUsername(token).equals(userDetails.getUsername());
+        return isTokenValid(parseToken(token), userDetails);
+    }
+
+    /**
+     * Validates already parsed claims against the provided user's details,
+     * without parsing the token again.
+     *
+     * @param claims       Claims returned by {@link #parseToken(String)}.
+     * @param userDetails  The expected user's details.
+     * @return {@code true} if the claims match the user, {@code false} otherwise.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject());
+    }
+
+    /**
+     * Builds the principal directly from the token claims when stateless mode is enabled.
+     * The returned user carries only its ID, email and role; it has no password and is not
+     * loaded from the database.
+     *
+     * @param claims Claims returned by {@link #parseToken(String)}.
+     * @return The principal, or empty if stateless mode is disabled or the token
+     *         was issued without the ID and role claims.
+     */
+    public Optional<UserDetails> principalFromClaims(Claims claims) {
+        if (!stateless) {
+            return Optional.empty();
+        }
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return Optional.empty();
+        }
+        return Optional.of(User.builder()
+                .id(userId.longValue())
+                .email(claims.getSubject())
+                .role(Role.valueOf(role))
+                .build());
+    }
+
+    private static Timer parseTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jwt.parse")
+                .description("Time spent parsing and verifying JWT tokens")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,106 @@
+package org.whiletrue.ordermanagementsystem.Services.Security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.whiletrue.ordermanagementsystem.Domain.Models.Security.PrincipalCacheStats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of authenticated principals keyed by JWT subject.
+ * <p>
+ * Lets {@link org.whiletrue.ordermanagementsystem.Configuration.JwtFilter} authenticate
+ * repeated requests of the same user without loading the user from the database each time.
+ * Entries expire after the configured TTL and the least recently used entry is dropped once
+ * the cache is full. Callers that change or delete a user must {@link #evict(String)} it.
+ */
+@Component
+public class PrincipalCache {
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+    private long generation;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public PrincipalCache(@Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl:60s}") Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    PrincipalCache(int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PrincipalCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached principal for the given username, loading and caching it on a miss.
+     *
+     * @param username The JWT subject.
+     * @param loader   Loads the principal when it is not cached or has expired.
+     * @return The principal.
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        Instant now = clock.instant();
+        long loadGeneration;
+        synchronized (entries) {
+            Entry entry = entries.get(username);
+            if (entry != null && entry.expiresAt().isAfter(now)) {
+                hits.incrementAndGet();
+                return entry.principal();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        UserDetails principal = loader.apply(username);
+        synchronized (entries) {
+            // Skip caching if a user was evicted while loading, the result may already be stale
+            if (loadGeneration == generation) {
+                entries.put(username, new Entry(principal, now.plus(ttl)));
+            }
+        }
+        return principal;
+    }
+
+    /**
+     * Removes the principal cached for the given username, if any.
+     *
+     * @param username The JWT subject.
+     */
+    public void evict(String username) {
+        synchronized (entries) {
+            entries.remove(username);
+            generation++;
+        }
+    }
+
+    /**
+     * Returns hit and miss counts since startup together with the current number of entries.
+     */
+    public PrincipalCacheStats stats() {
+        synchronized (entries) {
+            return new PrincipalCacheStats(hits.get(), misses.get(), entries.size());
+        }
+    }
+
+    private record Entry(UserDetails principal, Instant expiresAt) {}
+}
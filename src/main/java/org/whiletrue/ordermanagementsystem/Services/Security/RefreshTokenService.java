@@ -0,0 +1,147 @@
+package org.whiletrue.ordermanagementsystem.Services.Security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.RefreshToken;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Models.Security.RefreshedSession;
+import org.whiletrue.ordermanagementsystem.Repository.RefreshTokenRepository;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Service that issues and rotates the refresh tokens that keep sessions alive beyond the
+ * short lifetime of access tokens, so clients renew their access token without sending the
+ * password again and without a BCrypt check.
+ * <p>
+ * Tokens are random and only their SHA-256 is stored. Each refresh uses up the presented token
+ * and issues a new one of the same family. Presenting a used token again means it was copied,
+ * so its whole family is revoked, logging out both the legitimate client and the copy.
+ */
+@Service
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final Duration expiration;
+    private final SecureRandom random = new SecureRandom();
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                               @Value("${jwt.refresh-expiration:30d}") Duration expiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.expiration = expiration;
+    }
+
+    /**
+     * Starts a new token family for a user that just logged in or registered.
+     *
+     * @param user The authenticated user.
+     * @return The refresh token to hand to the client.
+     */
+    @Transactional
+    public String issue(User user) {
+        return issue(user.getId(), UUID.randomUUID().toString());
+    }
+
+    private String issue(Long userId, String family) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .userId(userId)
+                .family(family)
+                .expiresAt(LocalDateTime.now().plus(expiration))
+                .build());
+        return token;
+    }
+
+    /**
+     * Exchanges a refresh token for a new one of the same family.
+     *
+     * @param token The refresh token presented by the client.
+     * @return The user the token belongs to and the new refresh token.
+     * @throws BadCredentialsException if the token is unknown, expired, already used or its user is gone.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public RefreshedSession rotate(String token) {
+        String tokenHash = hash(token);
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if (refreshTokenRepository.use(tokenHash, now) == 0) {
+            if (stored.getExpiresAt().isAfter(now)) {
+                logger.warn("Refresh token of user with ID {} was used twice, revoking its family", stored.getUserId());
+                refreshTokenRepository.deleteByFamily(stored.getFamily());
+            }
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+
+        User user = userRepository.findById(stored.getUserId())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        return new RefreshedSession(user, issue(user.getId(), stored.getFamily()));
+    }
+
+    /**
+     * Ends the session a refresh token belongs to by revoking its whole family. Unknown tokens
+     * are ignored.
+     *
+     * @param token The refresh token presented by the client.
+     */
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(stored -> refreshTokenRepository.deleteByFamily(stored.getFamily()));
+    }
+
+    /**
+     * Revokes every refresh token of a user, ending all of their sessions.
+     *
+     * @param userId The user ID.
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        int revoked = refreshTokenRepository.deleteByUserId(userId);
+        logger.info("Revoked {} refresh token(s) of user with ID {}", revoked, userId);
+    }
+
+    /**
+     * Deletes expired refresh tokens. Used tokens are kept until they expire, so that their
+     * reuse is still recognised.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-purge-interval:1h}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        logger.info("Purged {} expired refresh token(s)", deleted);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
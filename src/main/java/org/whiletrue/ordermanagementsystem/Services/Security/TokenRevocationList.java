@@ -0,0 +1,64 @@
+package org.whiletrue.ordermanagementsystem.Services.Security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory list of subjects whose previously issued tokens must no longer be accepted,
+ * for example because the user was deleted or their role changed.
+ * <p>
+ * Used in stateless JWT mode, where the user is not loaded on each request. A revocation
+ * only has to outlive the tokens issued before it, so entries are dropped after one token
+ * lifetime. Since token timestamps have second precision, a token issued within the same
+ * second as the revocation is rejected as well.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Duration retention;
+    private final Clock clock;
+    private final Map<String, Instant> revokedAt = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenRevocationList(JwtService jwtService) {
+        this(jwtService.getExpiration(), Clock.systemUTC());
+    }
+
+    TokenRevocationList(Duration retention, Clock clock) {
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    /**
+     * Rejects every token issued to the given subject up to now.
+     *
+     * @param subject The JWT subject (the user's email).
+     */
+    public void revoke(String subject) {
+        Instant now = clock.instant();
+        revokedAt.values().removeIf(at -> at.plus(retention).isBefore(now));
+        revokedAt.put(subject, now.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /**
+     * Checks whether the token the claims were parsed from has been revoked.
+     *
+     * @param claims Claims of a verified token.
+     * @return {@code true} if the token was issued at or before a revocation of its subject.
+     */
+    public boolean isRevoked(Claims claims) {
+        Instant at = revokedAt.get(claims.getSubject());
+        if (at == null || claims.getIssuedAt() == null) {
+            return at != null;
+        }
+        return !claims.getIssuedAt().toInstant().isAfter(at);
+    }
+}
@@ -0,0 +1,57 @@
+package org.whiletrue.ordermanagementsystem.Services.Security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+
+/**
+ * Loads users for Spring Security by their email, which is used as the username, and stores
+ * the new hash when Spring Security re-hashes a password after a successful login.
+ */
+@Service
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
+
+    @Autowired
+    public UserDetailsServiceImpl(UserRepository userRepository, PrincipalCache principalCache) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    /**
+     * Stores a password hash made with the current BCrypt cost.
+     *
+     * @param user        The user that just logged in.
+     * @param newPassword The new hash of the password the user logged in with.
+     * @return The user with the new hash.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        logger.info("Re-hashing password of user {}", user.getUsername());
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        principalCache.evict(user.getUsername());
+        if (user instanceof User stored) {
+            stored.setPassword(newPassword);
+            return stored;
+        }
+        return loadUserByUsername(user.getUsername());
+    }
+}
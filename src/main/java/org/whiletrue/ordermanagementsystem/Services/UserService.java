@@ -5,7 +5,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Domain.Models.Security.PrincipalCacheStats;
 import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+import org.whiletrue.ordermanagementsystem.Services.Security.PrincipalCache;
+import org.whiletrue.ordermanagementsystem.Services.Security.RefreshTokenService;
+import org.whiletrue.ordermanagementsystem.Services.Security.TokenRevocationList;
 
 import java.util.Optional;
 
@@ -18,16 +23,26 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final RefreshTokenService refreshTokenService;
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     /**
      * Constructs a UserService with the given UserRepository.
      *
      * @param userRepository The repository used to access User data.
+     * @param principalCache The cache of authenticated principals to keep in sync with user changes.
+     * @param tokenRevocationList The list of subjects whose stateless tokens must be rejected.
+     * @param refreshTokenService The service holding the refresh tokens of the users.
      */
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, PrincipalCache principalCache,
+                       TokenRevocationList tokenRevocationList, RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
@@ -37,10 +52,10 @@ public class UserService {
      * @return An {@link Optional} containing the user if found, or empty if not found.
      */
     public Optional<User> getUser(Long id) {
-        logger.info("Attempting to retrieve user with ID: {}", id);
+        logger.debug("Attempting to retrieve user with ID: {}", id);
         Optional<User> user = userRepository.findById(id);
         if (user.isPresent()) {
-            logger.info("User found with ID: {}", id);
+            logger.debug("User found with ID: {}", id);
         } else {
             logger.warn("User not found with ID: {}", id);
         }
@@ -56,8 +71,46 @@ public class UserService {
      * @param id The ID of the user to delete.
      */
     public void deleteUser(Long id) {
-        logger.info("Deleting user with ID: {}", id);
+        logger.debug("Deleting user with ID: {}", id);
+        userRepository.findById(id).ifPresent(user -> invalidateSessions(user.getEmail()));
+        refreshTokenService.revokeAll(id);
         userRepository.deleteById(id);
         logger.info("User with ID {} has been deleted", id);
     }
+
+    /**
+     * Changes the role of a user. The cached principal is evicted and stateless tokens
+     * carrying the old role are revoked, so the new authorities apply to the next request.
+     *
+     * @param id   The ID of the user.
+     * @param role The new role.
+     * @return An {@link Optional} containing the updated user, or empty if not found.
+     */
+    public Optional<User> changeRole(Long id, Role role) {
+        logger.info("Changing role of user with ID {} to {}", id, role);
+        Optional<User> updated = userRepository.findById(id).map(user -> {
+            user.setRole(role);
+            User saved = userRepository.save(user);
+            invalidateSessions(saved.getEmail());
+            return saved;
+        });
+        if (updated.isEmpty()) {
+            logger.warn("User not found with ID: {}", id);
+        }
+        return updated;
+    }
+
+    /**
+     * Returns hit and miss counts of the authenticated principal cache.
+     *
+     * @return The current cache statistics.
+     */
+    public PrincipalCacheStats getPrincipalCacheStats() {
+        return principalCache.stats();
+    }
+
+    private void invalidateSessions(String email) {
+        principalCache.evict(email);
+        tokenRevocationList.revoke(email);
+    }
 }
@@ -0,0 +1,217 @@
+package org.whiletrue.ordermanagementsystem.Benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares throughput and tail latency of {@code /orders/createOrder} and {@code /orders/getOrder/{id}}
+ * under load. Subclasses select the request thread mode; both run against a pooled embedded
+ * database. Run with {@code mvn test -Pbenchmark} and compare the two reports.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "embedded"})
+abstract class AbstractThreadModeLoadBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractThreadModeLoadBenchmark.class);
+    private static final int CLIENTS = 400;
+    private static final int WARMUP_REQUESTS_PER_CLIENT = 5;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int PRODUCTS = 20;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Name of the thread mode configured by the subclass, used in the report.
+     */
+    protected abstract String mode();
+
+    @Test
+    void throughput() throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder().executor(clients).build();
+            Workload workload = Workload.seed(http, "http://localhost:" + port, mode(), userRepository);
+
+            workload.drive(clients, WARMUP_REQUESTS_PER_CLIENT);
+            Result result = workload.drive(clients, REQUESTS_PER_CLIENT);
+
+            logger.info("mode={} clients={} requests/s={} createOrder p50={}ms p99={}ms getOrder p50={}ms p99={}ms rejected={}",
+                    mode(), CLIENTS,
+                    String.format("%.0f", result.requestsPerSecond()),
+                    millis(result.create(), 0.50), millis(result.create(), 0.99),
+                    millis(result.read(), 0.50), millis(result.read(), 0.99),
+                    result.rejected());
+            assertEquals(0, result.failed(), "Requests failed with an unexpected status");
+        }
+    }
+
+    private static String millis(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return "-";
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return String.format("%.2f", sortedNanos[Math.max(index, 0)] / 1_000_000.0);
+    }
+
+    private record Result(double requestsPerSecond, long[] create, long[] read, int rejected, int failed) {}
+
+    /**
+     * Registered user, seeded products and a pool of order ids shared by all clients.
+     */
+    private record Workload(HttpClient http, String baseUrl, String token,
+                            long userId, List<Long> productIds, List<Long> orderIds) {
+
+        static Workload seed(HttpClient http, String baseUrl, String mode, UserRepository userRepository)
+                throws Exception {
+            String email = "load-" + mode + "@example.com";
+            JsonNode auth = post(http, baseUrl + "/auth/register", null,
+                    "{\"name\":\"Load\",\"email\":\"" + email + "\",\"password\":\"secret\"}");
+            String token = auth.get("token").asText();
+            long userId = userRepository.findByEmail(email).orElseThrow().getId();
+
+            List<Long> productIds = new ArrayList<>();
+            for (int i = 1; i <= PRODUCTS; i++) {
+                JsonNode product = post(http, baseUrl + "/products/addProduct", token,
+                        "{\"name\":\"Product " + i + "\",\"price\":" + (i + 0.99) + "}");
+                productIds.add(product.get("id").asLong());
+            }
+
+            Workload workload = new Workload(http, baseUrl, token, userId, productIds, new ArrayList<>());
+            JsonNode order = post(http, baseUrl + "/orders/createOrder", token, workload.orderBody(userId));
+            workload.orderIds().add(order.get("id").asLong());
+            return workload;
+        }
+
+        Result drive(ExecutorService clients, int requestsPerClient) throws Exception {
+            AtomicInteger rejected = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            List<Future<long[][]>> futures = new ArrayList<>(CLIENTS);
+
+            long start = System.nanoTime();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> client(requestsPerClient, rejected, failed)));
+            }
+
+            List<long[]> creates = new ArrayList<>();
+            List<long[]> reads = new ArrayList<>();
+            for (Future<long[][]> future : futures) {
+                long[][] latencies = future.get();
+                creates.add(latencies[0]);
+                reads.add(latencies[1]);
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            return new Result((double) CLIENTS * requestsPerClient / seconds,
+                    sorted(creates), sorted(reads), rejected.get(), failed.get());
+        }
+
+        private long[][] client(int requests, AtomicInteger rejected, AtomicInteger failed) throws Exception {
+            long[] create = new long[requests];
+            long[] read = new long[requests];
+            int creates = 0;
+            int reads = 0;
+
+            for (int i = 0; i < requests; i++) {
+                boolean isCreate = i % 2 == 0;
+                HttpRequest request = isCreate
+                        ? authorized(baseUrl + "/orders/createOrder")
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(orderBody(userId)))
+                                .build()
+                        : authorized(baseUrl + "/orders/getOrder/" + randomOrderId()).GET().build();
+
+                long begin = System.nanoTime();
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                long elapsed = System.nanoTime() - begin;
+
+                if (response.statusCode() == 503) {
+                    rejected.incrementAndGet();
+                    continue;
+                }
+                if (response.statusCode() != 200) {
+                    failed.incrementAndGet();
+                    continue;
+                }
+                if (isCreate) {
+                    create[creates++] = elapsed;
+                    long orderId = objectMapper.readTree(response.body()).get("id").asLong();
+                    synchronized (orderIds) {
+                        orderIds.add(orderId);
+                    }
+                } else {
+                    read[reads++] = elapsed;
+                }
+            }
+            return new long[][]{Arrays.copyOf(create, creates), Arrays.copyOf(read, reads)};
+        }
+
+        private long randomOrderId() {
+            synchronized (orderIds) {
+                return orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size()));
+            }
+        }
+
+        private String orderBody(long userId) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            StringBuilder items = new StringBuilder();
+            for (int i = 0; i < 3; i++) {
+                if (i > 0) {
+                    items.append(',');
+                }
+                items.append("{\"productId\":").append(productIds.get(random.nextInt(productIds.size())))
+                        .append(",\"quantity\":").append(random.nextInt(1, 5)).append('}');
+            }
+            return "{\"userId\":" + userId + ",\"items\":[" + items + "]}";
+        }
+
+        private HttpRequest.Builder authorized(String url) {
+            return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token);
+        }
+
+        private static JsonNode post(HttpClient http, String url, String token, String body)
+                throws Exception {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+            if (token != null) {
+                request.header("Authorization", "Bearer " + token);
+            }
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), () -> url + " failed: " + response.body());
+            return objectMapper.readTree(response.body());
+        }
+
+        private static long[] sorted(List<long[]> parts) {
+            long[] all = parts.stream().flatMapToLong(Arrays::stream).toArray();
+            Arrays.sort(all);
+            return all;
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package org.whiletrue.ordermanagementsystem.Benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Domain.Models.BulkOrderResponse;
+import org.whiletrue.ordermanagementsystem.Domain.Models.BulkOrderResult;
+import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+import org.whiletrue.ordermanagementsystem.Services.BulkOrderService;
+import org.whiletrue.ordermanagementsystem.Support.SqlStatementCounter;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * End-to-end load harness. Boots the whole application on an embedded database, seeds users,
+ * products and orders, and drives a mixed workload of login, refresh, createOrder, getOrder, list
+ * orders and list products over HTTP from virtual-thread clients. Reports throughput, p50/p99/p999
+ * latency and repository calls per operation, and SQL statements per request overall.
+ * <p>
+ * Scale and mix are read from system properties, for example
+ * {@code mvn test -Pbenchmark -Dtest=LoadHarnessBenchmark -Dload.orders=50000 -Dload.clients=500
+ * -Dload.mix=login=1,getOrder=60,listProducts=39}. Add {@code -Dspring.threads.virtual.enabled=true}
+ * to serve the requests on virtual threads.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "embedded"})
+class LoadHarnessBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadHarnessBenchmark.class);
+    private static final int USERS = Integer.getInteger("load.users", 100);
+    private static final int PRODUCTS = Integer.getInteger("load.products", 1000);
+    private static final int ORDERS = Integer.getInteger("load.orders", 10_000);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+    private static final int WARMUP_REQUESTS_PER_CLIENT = Integer.getInteger("load.warmup", 5);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requests", 25);
+    private static final String MIX = System.getProperty("load.mix",
+            "login=2,createOrder=20,getOrder=35,listOrders=23,listProducts=20");
+    private static final String PASSWORD = "secret";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private BulkOrderService bulkOrderService;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        Mix mix = Mix.parse(MIX);
+        long seedStart = System.nanoTime();
+        Dataset dataset = seed();
+        logger.info("Seeded {} users, {} products and {} orders in {}s",
+                dataset.userIds().size(), dataset.productIds().size(), dataset.orderIds().size(),
+                String.format("%.1f", (System.nanoTime() - seedStart) / 1_000_000_000.0));
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder().executor(clients).build();
+            Workload workload = new Workload(http, "http://localhost:" + port, mix, dataset);
+
+            workload.drive(clients, WARMUP_REQUESTS_PER_CLIENT);
+            Map<String, double[]> callsBefore = repositoryCalls();
+            SqlStatementCounter.reset();
+            Result result = workload.drive(clients, REQUESTS_PER_CLIENT);
+            int statements = SqlStatementCounter.total();
+            Map<String, double[]> callsAfter = repositoryCalls();
+
+            int completed = result.completed();
+            logger.info("clients={} mix={} requests={} requests/s={} SQL statements/request={} rejected={} failed={}",
+                    CLIENTS, MIX, completed, String.format("%.0f", result.requestsPerSecond()),
+                    String.format("%.2f", completed == 0 ? 0.0 : (double) statements / completed),
+                    result.rejected(), result.failed());
+            for (Operation operation : Operation.values()) {
+                long[] latencies = result.latencies().get(operation);
+                if (latencies.length == 0) {
+                    continue;
+                }
+                logger.info("{} requests={} p50={}ms p99={}ms p999={}ms repository calls/request={}",
+                        operation.key, latencies.length,
+                        millis(latencies, 0.50), millis(latencies, 0.99), millis(latencies, 0.999),
+                        callsPerRequest(callsBefore, callsAfter, operation.uri));
+            }
+            assertEquals(0, result.failed(), "Requests failed with an unexpected status");
+        }
+    }
+
+    /**
+     * Inserts the data set directly, bypassing HTTP: all users share one password hash and the
+     * orders go through the bulk import, so seeding stays fast at large scale.
+     */
+    private Dataset seed() throws Exception {
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .name("Load " + i)
+                    .email(email(i))
+                    .password(hash)
+                    .role(Role.ROLE_USER)
+                    .build());
+        }
+        List<Long> userIds = userRepository.saveAll(users).stream().map(User::getId).toList();
+
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .name("Product " + i)
+                    .price(BigDecimal.valueOf(100 + i % 900, 2))
+                    .build());
+        }
+        List<Long> productIds = productRepository.saveAll(products).stream().map(Product::getId).toList();
+
+        // every user gets seed orders, so no client creates the order summary row of its user
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < ORDERS; i++) {
+            ndjson.append(orderBody(userIds.get(i % userIds.size()), productIds)).append('\n');
+        }
+        BulkOrderResponse imported = bulkOrderService.importNdjson(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+        assertEquals(0, imported.failed(), "Seed orders failed to import");
+
+        List<Long> orderIds = new ArrayList<>(imported.results().stream().map(BulkOrderResult::orderId).toList());
+        return new Dataset(userIds, productIds, orderIds);
+    }
+
+    private Map<String, double[]> repositoryCalls() {
+        Map<String, double[]> calls = new HashMap<>();
+        for (DistributionSummary summary : meterRegistry.find("http.server.requests.repository.calls").summaries()) {
+            double[] totals = calls.computeIfAbsent(summary.getId().getTag("uri"), uri -> new double[2]);
+            totals[0] += summary.count();
+            totals[1] += summary.totalAmount();
+        }
+        return calls;
+    }
+
+    private static String callsPerRequest(Map<String, double[]> before, Map<String, double[]> after, String uri) {
+        double[] end = after.getOrDefault(uri, new double[2]);
+        double[] start = before.getOrDefault(uri, new double[2]);
+        double requests = end[0] - start[0];
+        return requests == 0 ? "-" : String.format("%.2f", (end[1] - start[1]) / requests);
+    }
+
+    private static String millis(long[] sortedNanos, double quantile) {
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return String.format("%.2f", sortedNanos[Math.max(index, 0)] / 1_000_000.0);
+    }
+
+    private static String email(int user) {
+        return "load-" + user + "@example.com";
+    }
+
+    private static String orderBody(long userId, List<Long> productIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int count = random.nextInt(1, 6);
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                items.append(',');
+            }
+            items.append("{\"productId\":").append(productIds.get(random.nextInt(productIds.size())))
+                    .append(",\"quantity\":").append(random.nextInt(1, 5)).append('}');
+        }
+        return "{\"userId\":" + userId + ",\"items\":[" + items + "]}";
+    }
+
+    private enum Operation {
+        LOGIN("login", "/auth/login"),
+        REFRESH("refresh", "/auth/refresh"),
+        CREATE_ORDER("createOrder", "/orders/createOrder"),
+        GET_ORDER("getOrder", "/orders/getOrder/{id}"),
+        LIST_ORDERS("listOrders", "/orders/user/{userId}"),
+        LIST_PRODUCTS("listProducts", "/products/getProductsAfter");
+
+        private final String key;
+        private final String uri;
+
+        Operation(String key, String uri) {
+            this.key = key;
+            this.uri = uri;
+        }
+    }
+
+    /**
+     * Weighted choice of the next operation, parsed from {@code name=weight} pairs.
+     */
+    private record Mix(Operation[] operations, int[] cumulativeWeights) {
+
+        static Mix parse(String spec) {
+            Map<String, Operation> byKey = new HashMap<>();
+            for (Operation operation : Operation.values()) {
+                byKey.put(operation.key, operation);
+            }
+
+            List<Operation> operations = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int total = 0;
+            for (String pair : spec.split(",")) {
+                String[] parts = pair.trim().split("=");
+                Operation operation = byKey.get(parts[0]);
+                if (operation == null || parts.length != 2) {
+                    throw new IllegalArgumentException("Unknown mix entry '" + pair + "', expected one of "
+                            + byKey.keySet() + " with a weight");
+                }
+                total += Integer.parseInt(parts[1]);
+                operations.add(operation);
+                cumulative.add(total);
+            }
+            return new Mix(operations.toArray(Operation[]::new),
+                    cumulative.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Operation next() {
+            int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = Arrays.binarySearch(cumulativeWeights, pick + 1);
+            return operations[index >= 0 ? index : -index - 1];
+        }
+    }
+
+    private record Dataset(List<Long> userIds, List<Long> productIds, List<Long> orderIds) {}
+
+    private record Result(double requestsPerSecond, Map<Operation, long[]> latencies, int rejected, int failed) {
+
+        int completed() {
+            return latencies.values().stream().mapToInt(latency -> latency.length).sum();
+        }
+    }
+
+    /**
+     * Runs every client as one user: it logs in, then issues operations drawn from the mix.
+     */
+    private record Workload(HttpClient http, String baseUrl, Mix mix, Dataset dataset) {
+
+        Result drive(ExecutorService clients, int requestsPerClient) throws Exception {
+            AtomicInteger rejected = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            List<Future<Map<Operation, long[]>>> futures = new ArrayList<>(CLIENTS);
+
+            long start = System.nanoTime();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> client(requestsPerClient, rejected, failed)));
+            }
+
+            Map<Operation, List<long[]>> parts = new EnumMap<>(Operation.class);
+            for (Future<Map<Operation, long[]>> future : futures) {
+                future.get().forEach((operation, latencies) ->
+                        parts.computeIfAbsent(operation, o -> new ArrayList<>()).add(latencies));
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+            int completed = 0;
+            for (Operation operation : Operation.values()) {
+                long[] all = parts.getOrDefault(operation, List.of()).stream()
+                        .flatMapToLong(Arrays::stream).toArray();
+                Arrays.sort(all);
+                latencies.put(operation, all);
+                completed += all.length;
+            }
+            return new Result(completed / seconds, latencies, rejected.get(), failed.get());
+        }
+
+        private Map<Operation, long[]> client(int requests, AtomicInteger rejected, AtomicInteger failed)
+                throws Exception {
+            Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+            Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+            int user = ThreadLocalRandom.current().nextInt(dataset.userIds().size());
+            long userId = dataset.userIds().get(user);
+            String token = null;
+            String refreshToken = null;
+
+            for (int i = 0; i <= requests; i++) {
+                // the first request of every client is the login that provides its token
+                Operation operation = token == null ? Operation.LOGIN : mix.next();
+                HttpRequest request = request(operation, user, userId, token, refreshToken);
+
+                long begin = System.nanoTime();
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                long elapsed = System.nanoTime() - begin;
+
+                if (response.statusCode() == 503 || response.statusCode() == 429) {
+                    rejected.incrementAndGet();
+                    continue;
+                }
+                if (response.statusCode() != 200) {
+                    failed.incrementAndGet();
+                    logger.warn("{} failed with {}: {}", operation.key, response.statusCode(), response.body());
+                    continue;
+                }
+
+                int count = counts.merge(operation, 1, Integer::sum);
+                long[] recorded = latencies.computeIfAbsent(operation, o -> new long[requests + 1]);
+                recorded[count - 1] = elapsed;
+                if (operation == Operation.LOGIN || operation == Operation.REFRESH) {
+                    JsonNode tokens = objectMapper.readTree(response.body());
+                    token = tokens.get("token").asText();
+                    refreshToken = tokens.get("refreshToken").asText();
+                } else if (operation == Operation.CREATE_ORDER) {
+                    long orderId = objectMapper.readTree(response.body()).get("id").asLong();
+                    synchronized (dataset.orderIds()) {
+                        dataset.orderIds().add(orderId);
+                    }
+                }
+            }
+
+            latencies.replaceAll((operation, recorded) -> Arrays.copyOf(recorded, counts.get(operation)));
+            return latencies;
+        }
+
+        private HttpRequest request(Operation operation, int user, long userId, String token, String refreshToken) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return switch (operation) {
+                case LOGIN -> HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"email\":\"" + email(user) + "\",\"password\":\"" + PASSWORD + "\"}"))
+                        .build();
+                case REFRESH -> HttpRequest.newBuilder(URI.create(baseUrl + "/auth/refresh"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                        .build();
+                case CREATE_ORDER -> authorized(baseUrl + "/orders/createOrder", token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(orderBody(userId, dataset.productIds())))
+                        .build();
+                case GET_ORDER -> authorized(baseUrl + "/orders/getOrder/" + randomOrderId(), token).GET().build();
+                case LIST_ORDERS -> authorized(baseUrl + "/orders/user/" + userId + "?size=20", token).GET().build();
+                case LIST_PRODUCTS -> authorized(baseUrl + "/products/getProductsAfter?size=50&afterId="
+                        + dataset.productIds().get(random.nextInt(dataset.productIds().size())), token).GET().build();
+            };
+        }
+
+        private long randomOrderId() {
+            List<Long> orderIds = dataset.orderIds();
+            synchronized (orderIds) {
+                return orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size()));
+            }
+        }
+
+        private static HttpRequest.Builder authorized(String url, String token) {
+            return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.whiletrue.ordermanagementsystem.Benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.api.LoggerComponentBuilder;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures what logging costs the request thread for one order creation, comparing the
+ * synchronous file logging and per-item DEBUG statements we had before with the async loggers
+ * of {@code log4j2-spring.xml} and the trimmed statements. Each variant gets its own logger
+ * context writing to a temporary file. Run with {@code mvn test -Pbenchmark}; compare the
+ * output across revisions.
+ */
+class LoggingOverheadBenchmark {
+
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(LoggingOverheadBenchmark.class);
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%t] %-5level %c{1} - %msg%n";
+    private static final String SERVICE = "org.whiletrue.ordermanagementsystem.Services.OrderService";
+    private static final int WORKERS = 16;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int MEASURED_REQUESTS = 10_000;
+    private static final int ITEMS_PER_ORDER = 5;
+
+    @TempDir
+    private Path logDir;
+
+    @Test
+    void loggingOverheadPerRequest() throws Exception {
+        measure("before: sync appender, debug, per-item statements", false, Level.DEBUG, true);
+        measure("sync appender, info, trimmed statements", false, Level.INFO, false);
+        measure("async logger, debug, per-item statements", true, Level.DEBUG, true);
+        measure("after: async logger, info, trimmed statements", true, Level.INFO, false);
+    }
+
+    private void measure(String variant, boolean async, Level level, boolean perItem) throws Exception {
+        LoggerContext context = new LoggerContext(variant);
+        context.start(configuration(variant, async, level));
+        Logger serviceLogger = context.getLogger(SERVICE);
+        try {
+            runRequests(serviceLogger, perItem, WARMUP_REQUESTS);
+
+            long begin = System.nanoTime();
+            long requestThreadNanos = runRequests(serviceLogger, perItem, MEASURED_REQUESTS);
+            long submitted = System.nanoTime() - begin;
+            context.stop();
+            long drained = System.nanoTime() - begin;
+
+            long requests = (long) WORKERS * MEASURED_REQUESTS;
+            logger.info("{}: {} ns/request of worker time, {} requests/s, {} ms until written",
+                    variant,
+                    requestThreadNanos / requests,
+                    String.format("%.0f", requests / (submitted / 1_000_000_000.0)),
+                    drained / 1_000_000);
+        } finally {
+            context.stop();
+        }
+    }
+
+    /**
+     * Logs what one createOrder call logs, {@code requests} times on each worker, and returns
+     * the time the workers spent in logging calls.
+     */
+    private static long runRequests(Logger serviceLogger, boolean perItem, int requests) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(WORKERS)) {
+            for (int w = 0; w < WORKERS; w++) {
+                long userId = w;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    long begin = System.nanoTime();
+                    for (long orderId = 0; orderId < requests; orderId++) {
+                        if (perItem) {
+                            serviceLogger.info("Creating order for user with ID: {}", userId);
+                            for (int item = 0; item < ITEMS_PER_ORDER; item++) {
+                                serviceLogger.debug("Added item: productId={}, quantity={}", item, 1);
+                            }
+                        } else {
+                            serviceLogger.debug("Creating order for user with ID: {}", userId);
+                        }
+                        serviceLogger.info("Order created successfully with ID: {}", orderId);
+                    }
+                    return System.nanoTime() - begin;
+                }));
+            }
+
+            start.countDown();
+            long nanos = 0;
+            for (Future<Long> worker : workers) {
+                nanos += worker.get();
+            }
+            return nanos;
+        }
+    }
+
+    private BuiltConfiguration configuration(String variant, boolean async, Level level) {
+        ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
+        builder.setConfigurationName(variant);
+        builder.add(builder.newAppender("File", "File")
+                .addAttribute("fileName", logDir.resolve(variant.replaceAll("\\W+", "-") + ".log").toString())
+                .addAttribute("immediateFlush", !async)
+                .add(builder.newLayout("PatternLayout").addAttribute("pattern", PATTERN)));
+
+        LoggerComponentBuilder serviceLogger = async
+                ? builder.newAsyncLogger("org.whiletrue.ordermanagementsystem", level)
+                : builder.newLogger("org.whiletrue.ordermanagementsystem", level);
+        builder.add(serviceLogger
+                .addAttribute("additivity", false)
+                .addAttribute("includeLocation", false)
+                .add(builder.newAppenderRef("File")));
+        builder.add(builder.newRootLogger(Level.WARN).add(builder.newAppenderRef("File")));
+        return builder.build(false);
+    }
+}
@@ -0,0 +1,222 @@
+package org.whiletrue.ordermanagementsystem.Benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Order;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.OrderEvent;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.ConcurrentUpdateException;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.InvalidStatusTransitionException;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderStatusSummary;
+import org.whiletrue.ordermanagementsystem.Repository.OrderEventRepository;
+import org.whiletrue.ordermanagementsystem.Repository.OrderRepository;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+import org.whiletrue.ordermanagementsystem.Services.OptimisticLockRetry;
+import org.whiletrue.ordermanagementsystem.Services.OrderStatusService;
+import org.whiletrue.ordermanagementsystem.Services.OrderSummaryService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many workers push the same small set of orders through their lifecycle at once, every worker
+ * trying a random transition on every order. Compares the locked conditional updates used by
+ * {@link OrderStatusService} with versioned read-modify-write updates retried by
+ * {@link OptimisticLockRetry}, and checks that neither lets two workers win the same
+ * transition. Run with {@code mvn test -Pbenchmark}; compare the output across revisions.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderStatusService.class, OrderSummaryService.class, OptimisticLockRetry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderContentionBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderContentionBenchmark.class);
+    private static final int ORDERS = 200;
+    private static final int WORKERS = 32;
+    private static final List<OrderStatus> TARGETS =
+            List.of(OrderStatus.PAID, OrderStatus.SHIPPED, OrderStatus.CANCELLED);
+    private static final Map<OrderStatus, List<Set<OrderStatus>>> PATHS = Map.of(
+            OrderStatus.CREATED, List.of(Set.of()),
+            OrderStatus.PAID, List.of(Set.of(OrderStatus.PAID)),
+            OrderStatus.SHIPPED, List.of(Set.of(OrderStatus.PAID, OrderStatus.SHIPPED)),
+            OrderStatus.CANCELLED, List.of(Set.of(OrderStatus.CANCELLED), Set.of(OrderStatus.PAID, OrderStatus.CANCELLED)));
+
+    @Autowired
+    private OrderStatusService orderStatusService;
+    @Autowired
+    private OrderSummaryService orderSummaryService;
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<Long> orderIds;
+
+    @BeforeEach
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .name("Benchmark")
+                .email("benchmark@example.com")
+                .password("secret")
+                .role(Role.ROLE_USER)
+                .build());
+        orderIds = orderRepository.saveAll(IntStream.range(0, ORDERS)
+                        .mapToObj(i -> Order.builder()
+                                .user(user)
+                                .status(OrderStatus.CREATED)
+                                .createdAt(LocalDateTime.now())
+                                .totalAmount(BigDecimal.ZERO)
+                                .itemCount(0)
+                                .build())
+                        .toList())
+                .stream().map(Order::getId).toList();
+        // the orders are inserted directly, so count them into the summaries
+        orderSummaryService.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        orderEventRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void conditionalUpdates() throws Exception {
+        run("conditional", (id, target) -> {
+            try {
+                orderStatusService.changeStatus(id, target);
+            } catch (InvalidStatusTransitionException e) {
+                // another worker moved the order elsewhere first
+            }
+        });
+
+        // every applied transition wrote exactly one outbox event
+        Map<Long, List<OrderStatus>> applied = orderEventRepository.findAll().stream()
+                .collect(Collectors.groupingBy(OrderEvent::getOrderId,
+                        Collectors.mapping(OrderEvent::getStatus, Collectors.toList())));
+        assertValidLifecycles(applied);
+
+        // the summaries changed in the same transactions as the orders, so they still match them
+        Map<OrderStatus, Long> counts = orderRepository.findAll().stream()
+                .collect(Collectors.groupingBy(Order::getStatus, Collectors.counting()));
+        OrderStatusSummary summary = orderSummaryService.getStatusSummary();
+        for (OrderStatus status : OrderStatus.values()) {
+            assertEquals(counts.getOrDefault(status, 0L), summary.orders().get(status), status::name);
+        }
+    }
+
+    @Test
+    void optimisticUpdates() throws Exception {
+        long conflictsBefore = optimisticLockRetry.conflicts();
+        long exhaustedBefore = optimisticLockRetry.exhausted();
+        Map<Long, List<OrderStatus>> applied = new ConcurrentHashMap<>();
+
+        run("optimistic", (id, target) -> {
+            try {
+                boolean changed = optimisticLockRetry.execute("Change of order " + id, () -> {
+                    Order order = orderRepository.findById(id).orElseThrow();
+                    if (!target.allowedPredecessors().contains(order.getStatus())) {
+                        return false;
+                    }
+                    order.setStatus(target);
+                    orderRepository.saveAndFlush(order);
+                    return true;
+                });
+                if (changed) {
+                    applied.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>()).add(target);
+                }
+            } catch (ConcurrentUpdateException e) {
+                // ran out of attempts; counted by the retry
+            }
+        });
+
+        logger.info("optimistic: {} conflict(s), {} update(s) gave up",
+                optimisticLockRetry.conflicts() - conflictsBefore,
+                optimisticLockRetry.exhausted() - exhaustedBefore);
+        assertValidLifecycles(applied);
+    }
+
+    /**
+     * Runs every worker over all orders in its own random order, trying a random transition on each.
+     */
+    private void run(String strategy, BiConsumer<Long, OrderStatus> transition) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+
+        long elapsed;
+        try (ExecutorService executor = Executors.newFixedThreadPool(WORKERS)) {
+            for (int w = 0; w < WORKERS; w++) {
+                workers.add(executor.submit(() -> {
+                    List<Long> ids = new ArrayList<>(orderIds);
+                    Collections.shuffle(ids);
+                    start.await();
+                    for (Long id : ids) {
+                        transition.accept(id, TARGETS.get(ThreadLocalRandom.current().nextInt(TARGETS.size())));
+                    }
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            elapsed = System.nanoTime() - begin;
+        }
+
+        logger.info("{}: {} workers on {} orders, {} attempts/s", strategy, WORKERS, ORDERS,
+                String.format("%.0f", (double) WORKERS * ORDERS / (elapsed / 1_000_000_000.0)));
+    }
+
+    /**
+     * Checks that no transition was won twice and that the transitions applied to each order
+     * form a valid path to its final status.
+     */
+    private void assertValidLifecycles(Map<Long, List<OrderStatus>> applied) {
+        int transitions = 0;
+        for (Order order : orderRepository.findAllById(orderIds)) {
+            List<OrderStatus> statuses = applied.getOrDefault(order.getId(), List.of());
+            assertEquals(statuses.size(), Set.copyOf(statuses).size(),
+                    "transition won twice on order " + order.getId() + ": " + statuses);
+            assertTrue(PATHS.get(order.getStatus()).contains(Set.copyOf(statuses)),
+                    "order " + order.getId() + " is " + order.getStatus() + " after " + statuses);
+            transitions += statuses.size();
+        }
+        logger.info("{} transition(s) applied", transitions);
+    }
+}
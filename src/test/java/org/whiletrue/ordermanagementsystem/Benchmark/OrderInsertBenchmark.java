@@ -0,0 +1,96 @@
+package org.whiletrue.ordermanagementsystem.Benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Order;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.OrderItem;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Repository.OrderRepository;
+import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+import org.whiletrue.ordermanagementsystem.Support.SqlStatementCounter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Measures order insert throughput for 1, 10 and 100 items per order against the embedded
+ * database. Run with {@code mvn test -Pbenchmark}; compare the output across revisions.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class OrderInsertBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderInsertBenchmark.class);
+    private static final int WARMUP_ORDERS = 200;
+    private static final int MEASURED_ORDERS = 1_000;
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void insertThroughput() {
+        User user = userRepository.save(User.builder()
+                .name("Benchmark")
+                .email("benchmark@example.com")
+                .password("secret")
+                .role(Role.ROLE_USER)
+                .build());
+        List<Product> products = productRepository.saveAll(IntStream.rangeClosed(1, 100)
+                .mapToObj(i -> Product.builder().name("Product " + i).price(BigDecimal.TEN).build())
+                .toList());
+
+        for (int itemsPerOrder : new int[]{1, 10, 100}) {
+            insertOrders(user, products, itemsPerOrder, WARMUP_ORDERS);
+
+            SqlStatementCounter.reset();
+            long start = System.nanoTime();
+            insertOrders(user, products, itemsPerOrder, MEASURED_ORDERS);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            logger.info("items/order={} orders/s={} items/s={} insert statements/order={}",
+                    itemsPerOrder,
+                    String.format("%.0f", MEASURED_ORDERS / seconds),
+                    String.format("%.0f", MEASURED_ORDERS * itemsPerOrder / seconds),
+                    String.format("%.2f", (double) SqlStatementCounter.inserts() / MEASURED_ORDERS));
+        }
+    }
+
+    private void insertOrders(User user, List<Product> products, int itemsPerOrder, int orders) {
+        for (int i = 0; i < orders; i++) {
+            Order order = Order.builder()
+                    .user(user)
+                    .status(OrderStatus.CREATED)
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            List<OrderItem> items = new ArrayList<>(itemsPerOrder);
+            for (int j = 0; j < itemsPerOrder; j++) {
+                items.add(OrderItem.builder().product(products.get(j)).quantity(1).order(order).build());
+            }
+            order.setItems(items);
+
+            orderRepository.save(order);
+            entityManager.flush();
+            entityManager.clear();
+            user = entityManager.getReference(User.class, user.getId());
+            products = products.stream().map(p -> entityManager.getReference(Product.class, p.getId())).toList();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.whiletrue.ordermanagementsystem.Benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Load benchmark with Tomcat's platform thread pool and no concurrency limiter.
+ */
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=false",
+        "concurrency-limit.enabled=false"
+})
+class PlatformThreadLoadBenchmark extends AbstractThreadModeLoadBenchmark {
+
+    @Override
+    protected String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,17 @@
+package org.whiletrue.ordermanagementsystem.Benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Load benchmark with virtual request threads, limited to the connection pool size.
+ */
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true"
+})
+class VirtualThreadLoadBenchmark extends AbstractThreadModeLoadBenchmark {
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
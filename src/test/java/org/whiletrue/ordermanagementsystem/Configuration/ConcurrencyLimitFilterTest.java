@@ -0,0 +1,99 @@
+package org.whiletrue.ordermanagementsystem.Configuration;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    void doFilter_releasesPermitAfterRequest() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(2, 10, Duration.ofMillis(10));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders/getOrder/1"), response,
+                (req, res) -> assertEquals(1, filter.availablePermits()));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(2, filter.availablePermits());
+    }
+
+    @Test
+    void doFilter_rejectsWhenAllPermitsAreTaken() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, 10, Duration.ofMillis(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blockingChain = (req, res) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        Thread inFlight = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("POST", "/orders/createOrder"),
+                        new MockHttpServletResponse(), blockingChain);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        started.await();
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders/getOrder/1"), rejected,
+                (req, res) -> fail("Request should not reach the chain"));
+
+        release.countDown();
+        inFlight.join();
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void doFilter_shedsWithoutWaitingWhenQueueIsFull() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, 0, Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blockingChain = (req, res) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        Thread inFlight = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("POST", "/orders/createOrder"),
+                        new MockHttpServletResponse(), blockingChain);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        started.await();
+
+        long begin = System.nanoTime();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders/getOrder/1"), rejected,
+                (req, res) -> fail("Request should not reach the chain"));
+        long elapsed = System.nanoTime() - begin;
+
+        release.countDown();
+        inFlight.join();
+
+        assertEquals(503, rejected.getStatus());
+        assertTrue(elapsed < Duration.ofSeconds(5).toNanos(), "Request waited for a permit");
+    }
+}
@@ -0,0 +1,91 @@
+package org.whiletrue.ordermanagementsystem.Configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Services.Security.JwtService;
+import org.whiletrue.ordermanagementsystem.Services.Security.PrincipalCache;
+import org.whiletrue.ordermanagementsystem.Services.Security.TokenRevocationList;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtFilterTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private final User user = User.builder()
+            .id(7L).email("user@example.com").password("hash").role(Role.ROLE_USER).build();
+    private JwtService jwtService;
+    private JwtFilter jwtFilter;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secret", "testverysecuritykey");
+        ReflectionTestUtils.setField(jwtService, "expiration", Duration.ofMinutes(15));
+        jwtFilter = new JwtFilter(jwtService, userDetailsService, new PrincipalCache(10, Duration.ofSeconds(60)),
+                new TokenRevocationList(jwtService));
+        when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(user);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_validTokenAuthenticates() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        jwtFilter.doFilter(request(jwtService.generateToken(user)), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals("user@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void doFilter_expiredTokenIsUnauthorized() throws Exception {
+        ReflectionTestUtils.setField(jwtService, "expiration", Duration.ofMinutes(-1));
+        String expired = jwtService.generateToken(user);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        jwtFilter.doFilter(request(expired), response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getHeader("WWW-Authenticate").contains("invalid_token"));
+        assertNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_malformedTokenIsUnauthorized() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtFilter.doFilter(request("not-a-token"), response, new MockFilterChain());
+
+        assertEquals(401, response.getStatus());
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders/getOrder/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,63 @@
+package org.whiletrue.ordermanagementsystem.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@ActiveProfiles({"test", "embedded"})
+class MetricsEndpointTest {
+
+    @LocalServerPort
+    private int port;
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheusEndpoint_exposesRequestServiceAndPoolMetrics() throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        HttpResponse<String> registered = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/register"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"name\":\"Metrics\",\"email\":\"metrics@example.com\",\"password\":\"secret\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        String token = new ObjectMapper().readTree(registered.body()).get("token").asText();
+
+        HttpResponse<String> products = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/products/getAllProducts"))
+                        .header("Authorization", "Bearer " + token)
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, products.statusCode());
+
+        HttpResponse<String> scrape = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + managementPort + "/actuator/prometheus"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, scrape.statusCode());
+
+        String metrics = scrape.body();
+        assertMetric(metrics, "service_method_seconds_bucket\\{.*class=\"ProductService\".*method=\"getAllProducts\"");
+        assertMetric(metrics, "http_server_requests_seconds_bucket\\{.*uri=\"/products/getAllProducts\"");
+        assertMetric(metrics, "http_server_requests_repository_calls_count\\{.*uri=\"/products/getAllProducts\".*} 1");
+        assertMetric(metrics, "jwt_parse_seconds_count\\{.*outcome=\"valid\".*} 1");
+        assertMetric(metrics, "hikaricp_connections_active\\{");
+        assertMetric(metrics, "cache_gets_total\\{.*cache=\"catalog\".*result=\"miss\"");
+    }
+
+    private static void assertMetric(String metrics, String regex) {
+        assertTrue(Pattern.compile(regex).matcher(metrics).find(), "No metric matching " + regex);
+    }
+}
@@ -0,0 +1,151 @@
+package org.whiletrue.ordermanagementsystem.Configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void preHandle_allowsBurstThenRejectsWithRetryAfter() throws Exception {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(2, 3, clock);
+        authenticate("alice@example.com");
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(interceptor.preHandle(request("GET", "/orders/user/{userId}"), new MockHttpServletResponse(), null));
+        }
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request("GET", "/orders/user/{userId}"), rejected, null));
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+    }
+
+    @Test
+    void preHandle_refillsOverTime() throws Exception {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(2, 1, clock);
+        authenticate("alice@example.com");
+
+        assertTrue(interceptor.preHandle(request("GET", "/orders/getOrder/{id}"), new MockHttpServletResponse(), null));
+        assertFalse(interceptor.preHandle(request("GET", "/orders/getOrder/{id}"), new MockHttpServletResponse(), null));
+
+        clock.advance(Duration.ofMillis(500));
+        assertTrue(interceptor.preHandle(request("GET", "/orders/getOrder/{id}"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void preHandle_keepsSeparateBucketsPerSubjectAndRoute() throws Exception {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(1, 1, clock);
+
+        authenticate("alice@example.com");
+        assertTrue(interceptor.preHandle(request("GET", "/orders/user/{userId}"), new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(request("GET", "/products/getProductsAfter"), new MockHttpServletResponse(), null));
+        assertFalse(interceptor.preHandle(request("GET", "/orders/user/{userId}"), new MockHttpServletResponse(), null));
+
+        authenticate("bob@example.com");
+        assertTrue(interceptor.preHandle(request("GET", "/orders/user/{userId}"), new MockHttpServletResponse(), null));
+
+        SecurityContextHolder.clearContext();
+        assertTrue(interceptor.preHandle(request("POST", "/auth/login"), new MockHttpServletResponse(), null));
+        assertFalse(interceptor.preHandle(request("POST", "/auth/login"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void preHandle_admitsExactlyTheBurstUnderConcurrency() throws Exception {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(1, 100, clock);
+        AtomicInteger allowed = new AtomicInteger();
+        List<Future<?>> callers = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1_000; i++) {
+                callers.add(executor.submit(() -> {
+                    authenticate("alice@example.com");
+                    if (interceptor.preHandle(request("GET", "/orders/user/{userId}"), new MockHttpServletResponse(), null)) {
+                        allowed.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> caller : callers) {
+                caller.get();
+            }
+        }
+
+        assertEquals(100, allowed.get());
+    }
+
+    @Test
+    void sweep_dropsRefilledBuckets() throws Exception {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(10, 5, clock);
+        authenticate("alice@example.com");
+        interceptor.preHandle(request("GET", "/orders/user/{userId}"), new MockHttpServletResponse(), null);
+
+        interceptor.sweep();
+        assertEquals(1, interceptor.size());
+
+        clock.advance(Duration.ofSeconds(1));
+        interceptor.sweep();
+        assertEquals(0, interceptor.size());
+    }
+
+    private static MockHttpServletRequest request(String method, String route) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, route);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        return request;
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.whiletrue.ordermanagementsystem.Configuration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositoryCallMetricsFilterTest {
+
+    @Test
+    void doFilter_recordsRepositoryCallsOfRequest() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RepositoryCallMetricsFilter filter = new RepositoryCallMetricsFilter(registry);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders/getOrder/1"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/orders/getOrder/{id}");
+                    RepositoryCallMetricsFilter.recordCall();
+                    RepositoryCallMetricsFilter.recordCall();
+                    RepositoryCallMetricsFilter.recordCall();
+                });
+
+        DistributionSummary calls = registry.get("http.server.requests.repository.calls")
+                .tag("method", "GET")
+                .tag("uri", "/orders/getOrder/{id}")
+                .summary();
+        assertEquals(1, calls.count());
+        assertEquals(3, calls.totalAmount());
+    }
+
+    @Test
+    void recordCall_isIgnoredOutsideRequests() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RepositoryCallMetricsFilter filter = new RepositoryCallMetricsFilter(registry);
+
+        RepositoryCallMetricsFilter.recordCall();
+        filter.doFilter(new MockHttpServletRequest("GET", "/unknown"), new MockHttpServletResponse(), (req, res) -> {
+        });
+
+        assertEquals(0, registry.get("http.server.requests.repository.calls").tag("uri", "UNKNOWN").summary().totalAmount());
+    }
+}
@@ -0,0 +1,71 @@
+package org.whiletrue.ordermanagementsystem.Controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "embedded"})
+class OrderControllerTest {
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String token;
+    private long userId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "orders-" + UUID.randomUUID() + "@example.com";
+        HttpResponse<String> registered = post("/auth/register", null,
+                "{\"name\":\"Orders\",\"email\":\"" + email + "\",\"password\":\"secret\"}");
+        token = objectMapper.readTree(registered.body()).get("token").asText();
+        userId = userRepository.findByEmail(email).orElseThrow().getId();
+    }
+
+    @Test
+    void createOrder_rejectsNonPositiveQuantities() throws Exception {
+        Product product = productRepository.save(Product.builder()
+                .name("Validated").price(new BigDecimal("5.00")).stock(10).build());
+
+        for (int quantity : new int[] {0, -5}) {
+            HttpResponse<String> response = post("/orders/createOrder", token, "{\"userId\":" + userId
+                    + ",\"items\":[{\"productId\":" + product.getId() + ",\"quantity\":" + quantity + "}]}");
+
+            assertEquals(400, response.statusCode(), "quantity " + quantity);
+        }
+        assertEquals(10, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    private HttpResponse<String> post(String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
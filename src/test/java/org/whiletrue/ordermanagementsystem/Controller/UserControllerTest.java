@@ -0,0 +1,90 @@
+package org.whiletrue.ordermanagementsystem.Controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "embedded"})
+class UserControllerTest {
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void changeRole_userCannotPromoteThemselves() throws Exception {
+        String email = "user-" + UUID.randomUUID() + "@example.com";
+        String token = register(email);
+        Long id = userRepository.findByEmail(email).orElseThrow().getId();
+
+        HttpResponse<String> response = changeRole(token, id, Role.ROLE_ADMIN);
+
+        assertEquals(403, response.statusCode());
+        assertEquals(Role.ROLE_USER, userRepository.findById(id).orElseThrow().getRole());
+    }
+
+    @Test
+    void changeRole_adminCanChangeRoles() throws Exception {
+        String adminEmail = "admin-" + UUID.randomUUID() + "@example.com";
+        register(adminEmail);
+        User admin = userRepository.findByEmail(adminEmail).orElseThrow();
+        admin.setRole(Role.ROLE_ADMIN);
+        userRepository.save(admin);
+        String adminToken = login(adminEmail);
+
+        String email = "user-" + UUID.randomUUID() + "@example.com";
+        register(email);
+        Long id = userRepository.findByEmail(email).orElseThrow().getId();
+
+        assertEquals(200, changeRole(adminToken, id, Role.ROLE_ADMIN).statusCode());
+        assertEquals(Role.ROLE_ADMIN, userRepository.findById(id).orElseThrow().getRole());
+    }
+
+    private String register(String email) throws Exception {
+        return token(post("/auth/register", "{\"name\":\"User\",\"email\":\"" + email + "\",\"password\":\"secret\"}"));
+    }
+
+    private String login(String email) throws Exception {
+        return token(post("/auth/login", "{\"email\":\"" + email + "\",\"password\":\"secret\"}"));
+    }
+
+    private HttpResponse<String> changeRole(String token, Long id, Role role) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/changeRole/" + id + "?role=" + role))
+                        .header("Authorization", "Bearer " + token)
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String token(HttpResponse<String> response) throws Exception {
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+}
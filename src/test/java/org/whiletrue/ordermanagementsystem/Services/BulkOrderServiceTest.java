@@ -0,0 +1,159 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.whiletrue.ordermanagementsystem.Domain.Models.BulkOrderResponse;
+import org.whiletrue.ordermanagementsystem.Domain.Models.BulkOrderResult;
+import org.whiletrue.ordermanagementsystem.Domain.Models.CreateOrderRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BulkOrderServiceTest {
+
+    private static final String ORDER = "{\"userId\":1,\"items\":[{\"productId\":10,\"quantity\":2}]}";
+
+    @Mock
+    private OrderService orderService;
+
+    private BulkOrderService bulkOrderService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bulkOrderService = new BulkOrderService(orderService, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), 2);
+
+        when(orderService.createOrders(anyMap())).thenAnswer(i -> {
+            Map<Integer, CreateOrderRequest> chunk = i.getArgument(0);
+            return chunk.keySet().stream()
+                    .map(index -> BulkOrderResult.created(index, 100L + index))
+                    .toList();
+        });
+    }
+
+    @Test
+    void importNdjson_commitsInChunks() throws Exception {
+        String body = String.join("\n", ORDER, ORDER, ORDER, ORDER, ORDER);
+
+        BulkOrderResponse response = bulkOrderService.importNdjson(stream(body));
+
+        assertEquals(5, response.created());
+        assertEquals(0, response.failed());
+        assertEquals(List.of(100L, 101L, 102L, 103L, 104L),
+                response.results().stream().map(BulkOrderResult::orderId).toList());
+        verify(orderService, times(3)).createOrders(anyMap());
+    }
+
+    @Test
+    void importNdjson_reportsMalformedAndInvalidLines() throws Exception {
+        String body = String.join("\n", ORDER, "{not json", "", "{\"userId\":1,\"items\":[]}", ORDER);
+
+        BulkOrderResponse response = bulkOrderService.importNdjson(stream(body));
+
+        assertEquals(2, response.created());
+        assertEquals(2, response.failed());
+        List<BulkOrderResult> results = response.results();
+        assertEquals(List.of(0, 1, 2, 3), results.stream().map(BulkOrderResult::index).toList());
+        assertTrue(results.get(1).error().startsWith("Malformed record"));
+        assertTrue(results.get(2).error().startsWith("items"));
+        assertEquals(103L, results.get(3).orderId());
+    }
+
+    @Test
+    void importNdjson_reportsNullLineAsFailedRecord() throws Exception {
+        BulkOrderResponse response = bulkOrderService.importNdjson(stream(String.join("\n", ORDER, "null", ORDER)));
+
+        assertEquals(2, response.created());
+        assertEquals(1, response.failed());
+        assertTrue(response.results().get(1).error().startsWith("Malformed record"));
+    }
+
+    @Test
+    void importNdjson_rejectsNonPositiveQuantities() throws Exception {
+        String body = String.join("\n",
+                "{\"userId\":1,\"items\":[{\"productId\":10,\"quantity\":0}]}",
+                "{\"userId\":1,\"items\":[{\"productId\":10,\"quantity\":2},{\"productId\":11,\"quantity\":-5}]}",
+                ORDER);
+
+        BulkOrderResponse response = bulkOrderService.importNdjson(stream(body));
+
+        assertEquals(1, response.created());
+        assertEquals(2, response.failed());
+        assertTrue(response.results().get(0).error().startsWith("items[0].quantity"));
+        assertTrue(response.results().get(1).error().startsWith("items[1].quantity"));
+        verify(orderService, times(1)).createOrders(argThat(chunk -> chunk.keySet().equals(Set.of(2))));
+    }
+
+    @Test
+    void importJsonArray_parsesEveryElement() throws Exception {
+        String body = "[" + String.join(",", ORDER, ORDER, ORDER) + "]";
+
+        BulkOrderResponse response = bulkOrderService.importJsonArray(stream(body));
+
+        assertEquals(3, response.created());
+        verify(orderService, times(2)).createOrders(anyMap());
+    }
+
+    @Test
+    void importJsonArray_stopsAtMalformedRecordButKeepsStoredChunks() throws Exception {
+        String body = "[" + ORDER + "," + ORDER + ",{\"userId\":";
+
+        BulkOrderResponse response = bulkOrderService.importJsonArray(stream(body));
+
+        assertEquals(2, response.created());
+        assertEquals(1, response.failed());
+        assertNotNull(response.results().get(2).error());
+    }
+
+    @Test
+    void importJsonArray_continuesAfterMistypedRecord() throws Exception {
+        String body = "[" + String.join(",", ORDER,
+                "{\"userId\":1,\"items\":[{\"productId\":10,\"quantity\":\"x\"}]}", ORDER, ORDER) + "]";
+
+        BulkOrderResponse response = bulkOrderService.importJsonArray(stream(body));
+
+        assertEquals(3, response.created());
+        assertEquals(1, response.failed());
+        List<BulkOrderResult> results = response.results();
+        assertEquals(List.of(0, 1, 2, 3), results.stream().map(BulkOrderResult::index).toList());
+        assertTrue(results.get(1).error().startsWith("Malformed record"));
+        assertEquals(103L, results.get(3).orderId());
+    }
+
+    @Test
+    void importJsonArray_rejectsNonArrayBody() throws Exception {
+        BulkOrderResponse response = bulkOrderService.importJsonArray(stream(ORDER));
+
+        assertEquals(0, response.created());
+        assertEquals(1, response.failed());
+        verify(orderService, never()).createOrders(anyMap());
+    }
+
+    @Test
+    void importNdjson_marksRolledBackChunkAsFailed() throws Exception {
+        when(orderService.createOrders(anyMap()))
+                .thenThrow(new DataIntegrityViolationException("constraint violated"));
+
+        BulkOrderResponse response = bulkOrderService.importNdjson(stream(ORDER + "\n" + ORDER));
+
+        assertEquals(0, response.created());
+        assertEquals(2, response.failed());
+        assertTrue(response.results().get(0).error().startsWith("Chunk rolled back"));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,94 @@
+package org.whiletrue.ordermanagementsystem.Services.Events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.OrderEvent;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderEventMessage;
+import org.whiletrue.ordermanagementsystem.Repository.OrderEventRepository;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderOutboxDispatcherTest {
+
+    @Mock
+    private OrderEventRepository orderEventRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<OrderEventMessage> received = new ArrayList<>();
+    private final OrderEventSink recordingSink = received::addAll;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void dispatch_deliversBatchesInOrderAndMarksThemPublished() {
+        OrderOutboxDispatcher dispatcher = dispatcher(List.of(recordingSink), 2);
+        when(orderEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(2)))
+                .thenReturn(events(1, 2), events(3, 3));
+
+        int delivered = dispatcher.dispatch();
+
+        assertEquals(3, delivered);
+        assertEquals(List.of(1L, 2L, 3L), received.stream().map(OrderEventMessage::eventId).toList());
+        InOrder inOrder = inOrder(orderEventRepository);
+        inOrder.verify(orderEventRepository).markPublished(eq(List.of(1L, 2L)), any());
+        inOrder.verify(orderEventRepository).markPublished(eq(List.of(3L)), any());
+    }
+
+    @Test
+    void dispatch_failingSinkLeavesBatchPending() {
+        OrderEventSink failingSink = events -> {
+            throw new IOException("disk full");
+        };
+        OrderOutboxDispatcher dispatcher = dispatcher(List.of(recordingSink, failingSink), 10);
+        when(orderEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(10))).thenReturn(events(1, 2));
+
+        int delivered = dispatcher.dispatch();
+
+        assertEquals(0, delivered);
+        verify(orderEventRepository, never()).markPublished(anyCollection(), any());
+    }
+
+    @Test
+    void dispatch_emptyOutboxDeliversNothing() {
+        OrderOutboxDispatcher dispatcher = dispatcher(List.of(recordingSink), 10);
+        when(orderEventRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(10))).thenReturn(List.of());
+
+        assertEquals(0, dispatcher.dispatch());
+        assertTrue(received.isEmpty());
+    }
+
+    private OrderOutboxDispatcher dispatcher(List<OrderEventSink> sinks, int batchSize) {
+        return new OrderOutboxDispatcher(orderEventRepository, sinks, transactionManager, batchSize, Duration.ofDays(7));
+    }
+
+    private static List<OrderEvent> events(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> OrderEvent.builder()
+                        .id(id)
+                        .orderId(100L + id)
+                        .userId(1L)
+                        .status(OrderStatus.CREATED)
+                        .occurredAt(LocalDateTime.now())
+                        .build())
+                .toList();
+    }
+}
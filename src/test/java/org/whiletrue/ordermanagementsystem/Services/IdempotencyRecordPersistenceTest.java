@@ -0,0 +1,72 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.IdempotencyRecord;
+import org.whiletrue.ordermanagementsystem.Repository.IdempotencyRecordRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class IdempotencyRecordPersistenceTest {
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void saveAndFlush_neverOverwritesAStoredKey() {
+        String key = "a".repeat(255) + ":" + "k".repeat(200);
+        recordRepository.saveAndFlush(record(key, "{\"id\":1}"));
+        entityManager.clear();
+
+        assertThrows(DataIntegrityViolationException.class, () -> recordRepository.saveAndFlush(record(key, "{\"id\":2}")));
+    }
+
+    @Test
+    void claimedRecord_storesResponseOnCommit() {
+        IdempotencyRecord claimed = recordRepository.saveAndFlush(record("a@example.com:key-1", null));
+        claimed.setResponse("{\"id\":1}");
+        entityManager.flush();
+        entityManager.clear();
+
+        IdempotencyRecord stored = recordRepository.findById("a@example.com:key-1").orElseThrow();
+        assertEquals("{\"id\":1}", stored.getResponse());
+        assertFalse(stored.isNew());
+    }
+
+    @Test
+    void expiredRecord_canBeClaimedAgainOnceDeleted() {
+        IdempotencyRecord expired = record("a@example.com:key-1", "{\"id\":1}");
+        expired.setCreatedAt(LocalDateTime.now().minusDays(2));
+        recordRepository.saveAndFlush(expired);
+        recordRepository.saveAndFlush(record("a@example.com:key-2", "{\"id\":2}"));
+        entityManager.clear();
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+        assertEquals(0, recordRepository.deleteByKeyCreatedBefore("a@example.com:key-2", cutoff));
+        assertEquals(1, recordRepository.deleteByKeyCreatedBefore("a@example.com:key-1", cutoff));
+        recordRepository.saveAndFlush(record("a@example.com:key-1", "{\"id\":3}"));
+        entityManager.clear();
+
+        assertEquals("{\"id\":3}", recordRepository.findById("a@example.com:key-1").orElseThrow().getResponse());
+        assertTrue(recordRepository.existsById("a@example.com:key-2"));
+    }
+
+    private static IdempotencyRecord record(String key, String response) {
+        return IdempotencyRecord.builder()
+                .key(key)
+                .requestHash("0".repeat(64))
+                .response(response)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,195 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.*;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.IdempotencyKeyReuseException;
+import org.whiletrue.ordermanagementsystem.Domain.Models.CreateOrderRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderItemRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
+import org.whiletrue.ordermanagementsystem.Repository.IdempotencyRecordRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final CreateOrderRequest request = new CreateOrderRequest(1L, List.of(new OrderItemRequest(10L, 2)));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(orderService.createOrder(request)).thenReturn(order());
+    }
+
+    @Test
+    void createOrder_retryIsServedFromMemory() {
+        IdempotencyService service = service(false);
+
+        OrderView first = service.createOrder("a@example.com", "key-1", request);
+        OrderView retry = service.createOrder("a@example.com", "key-1", request);
+
+        assertEquals(first, retry);
+        verify(orderService, times(1)).createOrder(request);
+        verifyNoInteractions(recordRepository);
+    }
+
+    @Test
+    void createOrder_keysAreScopedToCaller() {
+        IdempotencyService service = service(false);
+
+        service.createOrder("a@example.com", "key-1", request);
+        service.createOrder("b@example.com", "key-1", request);
+
+        verify(orderService, times(2)).createOrder(request);
+    }
+
+    @Test
+    void createOrder_persistentModeStoresResponseWithOrder() {
+        IdempotencyService service = service(true);
+        when(recordRepository.findById("a@example.com:key-1")).thenReturn(Optional.empty());
+
+        OrderView created = service.createOrder("a@example.com", "key-1", request);
+
+        verify(recordRepository).saveAndFlush(argThat(record ->
+                record.getKey().equals("a@example.com:key-1")
+                        && record.getRequestHash().length() == 64
+                        && record.getResponse().contains("\"id\":100")));
+        assertEquals(100L, created.id());
+    }
+
+    @Test
+    void createOrder_persistentModeClaimsKeyBeforeCreatingOrder() {
+        IdempotencyService service = service(true);
+        when(recordRepository.findById("a@example.com:key-1")).thenReturn(Optional.empty());
+
+        service.createOrder("a@example.com", "key-1", request);
+
+        InOrder inOrder = inOrder(recordRepository, orderService);
+        inOrder.verify(recordRepository).saveAndFlush(argThat(IdempotencyRecord::isNew));
+        inOrder.verify(orderService).createOrder(request);
+    }
+
+    @Test
+    void createOrder_persistentModeReplaysKeyClaimedConcurrently() {
+        IdempotencyService first = service(true);
+        when(recordRepository.findById("a@example.com:key-1")).thenReturn(Optional.empty());
+        first.createOrder("a@example.com", "key-1", request);
+        IdempotencyRecord record = captureSavedRecord();
+
+        IdempotencyService second = service(true);
+        when(recordRepository.findById("a@example.com:key-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(record));
+        when(recordRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        OrderView replayed = second.createOrder("a@example.com", "key-1", request);
+
+        assertEquals(100L, replayed.id());
+        verify(orderService, times(1)).createOrder(request);
+    }
+
+    @Test
+    void createOrder_persistentModeReplaysStoredResponse() {
+        IdempotencyService stored = service(true);
+        when(recordRepository.findById("a@example.com:key-1")).thenReturn(Optional.empty());
+        stored.createOrder("a@example.com", "key-1", request);
+        IdempotencyRecord record = captureSavedRecord();
+
+        IdempotencyService restarted = service(true);
+        when(recordRepository.findById("a@example.com:key-1")).thenReturn(Optional.of(record));
+        OrderView replayed = restarted.createOrder("a@example.com", "key-1", request);
+
+        assertEquals(100L, replayed.id());
+        assertEquals(new BigDecimal("8.50"), replayed.totalAmount());
+        verify(orderService, times(1)).createOrder(request);
+    }
+
+    @Test
+    void createOrder_persistentModeRejectsDifferentRequest() {
+        IdempotencyService service = service(true);
+        when(recordRepository.findById("a@example.com:key-1")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .key("a@example.com:key-1")
+                .requestHash("0".repeat(64))
+                .response("{}")
+                .createdAt(LocalDateTime.now())
+                .build()));
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> service.createOrder("a@example.com", "key-1", request));
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void createOrder_persistentModeReclaimsExpiredKey() {
+        IdempotencyService service = service(true);
+        when(recordRepository.findById("a@example.com:key-1")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .key("a@example.com:key-1")
+                .requestHash("0".repeat(64))
+                .response("{\"id\":1}")
+                .createdAt(LocalDateTime.now().minusHours(2))
+                .build()));
+
+        OrderView created = service.createOrder("a@example.com", "key-1", request);
+
+        assertEquals(100L, created.id());
+        InOrder inOrder = inOrder(recordRepository, orderService);
+        inOrder.verify(recordRepository).deleteByKeyCreatedBefore(eq("a@example.com:key-1"), any(LocalDateTime.class));
+        inOrder.verify(recordRepository).saveAndFlush(argThat(IdempotencyRecord::isNew));
+        inOrder.verify(orderService).createOrder(request);
+    }
+
+    private IdempotencyRecord captureSavedRecord() {
+        ArgumentCaptor<IdempotencyRecord> captor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(recordRepository).saveAndFlush(captor.capture());
+        return captor.getValue();
+    }
+
+    private IdempotencyService service(boolean persistent) {
+        return new IdempotencyService(orderService, new IdempotencyStore(100, Duration.ofHours(1)),
+                recordRepository, objectMapper, transactionManager, persistent, Duration.ofHours(1));
+    }
+
+    private static Order order() {
+        User user = User.builder().id(1L).build();
+        Product product = Product.builder().id(10L).name("A").price(new BigDecimal("4.25")).build();
+        Order order = Order.builder()
+                .id(100L)
+                .user(user)
+                .status(OrderStatus.CREATED)
+                .createdAt(LocalDateTime.now())
+                .totalAmount(new BigDecimal("8.50"))
+                .itemCount(2)
+                .build();
+        order.setItems(List.of(OrderItem.builder()
+                .id(1000L)
+                .order(order)
+                .product(product)
+                .unitPrice(product.getPrice())
+                .quantity(2)
+                .build()));
+        return order;
+    }
+}
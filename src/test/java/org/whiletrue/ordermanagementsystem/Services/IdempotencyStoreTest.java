@@ -0,0 +1,136 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.IdempotencyKeyReuseException;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private MutableClock clock;
+    private AtomicInteger creations;
+    private Supplier<OrderView> creation;
+
+    @BeforeEach
+    void setup() {
+        clock = new MutableClock();
+        creations = new AtomicInteger();
+        creation = () -> order(100L + creations.incrementAndGet());
+    }
+
+    @Test
+    void execute_retryReturnsOriginalResult() {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofHours(1), clock);
+
+        OrderView first = store.execute("a:key", "hash", creation);
+        OrderView retry = store.execute("a:key", "hash", creation);
+
+        assertSame(first, retry);
+        assertEquals(1, creations.get());
+    }
+
+    @Test
+    void execute_rejectsKeyReusedForDifferentRequest() {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofHours(1), clock);
+        store.execute("a:key", "hash", creation);
+
+        assertThrows(IdempotencyKeyReuseException.class, () -> store.execute("a:key", "other", creation));
+    }
+
+    @Test
+    void execute_failedCreationCanBeRetried() {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofHours(1), clock);
+
+        assertThrows(IllegalStateException.class, () -> store.execute("a:key", "hash", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        OrderView retry = store.execute("a:key", "hash", creation);
+
+        assertEquals(101L, retry.id());
+    }
+
+    @Test
+    void execute_expiredKeyRunsAgain() {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofHours(1), clock);
+        store.execute("a:key", "hash", creation);
+
+        clock.advance(Duration.ofHours(2));
+        store.execute("a:key", "hash", creation);
+
+        assertEquals(2, creations.get());
+    }
+
+    @Test
+    void execute_coalescesConcurrentDuplicates() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(10, Duration.ofHours(1), clock);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<OrderView> slowCreation = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return creation.get();
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<OrderView>> duplicates = IntStream.range(0, 20)
+                    .mapToObj(i -> executor.submit(() -> store.execute("a:key", "hash", slowCreation)))
+                    .toList();
+            Thread.sleep(50);
+            release.countDown();
+
+            for (Future<OrderView> duplicate : duplicates) {
+                assertEquals(101L, duplicate.get().id());
+            }
+        }
+        assertEquals(1, creations.get());
+    }
+
+    private static OrderView order(Long id) {
+        return new OrderView(id, 1L, OrderStatus.CREATED, LocalDateTime.now(), BigDecimal.TEN, 1, List.of());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Order;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.ConcurrentUpdateException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticLockRetryTest {
+
+    private OptimisticLockRetry retry;
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    void setUp() {
+        retry = new OptimisticLockRetry(TransactionOperations.withoutTransaction(), 3, Duration.ofMillis(1));
+        attempts = new AtomicInteger();
+    }
+
+    @Test
+    void execute_retriesUntilAttemptCommits() {
+        String result = retry.execute("Update", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Order.class, 1L);
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, retry.conflicts());
+        assertEquals(0, retry.exhausted());
+    }
+
+    @Test
+    void execute_givesUpAfterMaxAttempts() {
+        ConcurrentUpdateException e = assertThrows(ConcurrentUpdateException.class, () -> retry.execute("Update", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Order.class, 1L);
+        }));
+
+        assertInstanceOf(ObjectOptimisticLockingFailureException.class, e.getCause());
+        assertEquals(3, attempts.get());
+        assertEquals(1, retry.exhausted());
+    }
+
+    @Test
+    void execute_doesNotRetryOtherFailures() {
+        assertThrows(IllegalStateException.class, () -> retry.execute("Update", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, retry.conflicts());
+    }
+}
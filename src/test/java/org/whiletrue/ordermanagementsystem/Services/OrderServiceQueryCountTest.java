@@ -0,0 +1,164 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Domain.Models.CreateOrderRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderItemRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderPage;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.StatusChangeResponse;
+import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+import org.whiletrue.ordermanagementsystem.Support.SqlStatementCounter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderService.class, OrderStatusService.class, OrderSummaryService.class, ProductCatalogCache.class})
+class OrderServiceQueryCountTest {
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderStatusService orderStatusService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Buyer")
+                .email("buyer@example.com")
+                .password("secret")
+                .role(Role.ROLE_USER)
+                .build());
+        products = productRepository.saveAll(IntStream.rangeClosed(1, 200)
+                .mapToObj(i -> Product.builder().name("Product " + i).price(BigDecimal.TEN).build())
+                .toList());
+    }
+
+    @Test
+    void createOrder_lookupStatementsDoNotGrowWithLineCount() {
+        createOrderWithLines(1);
+        int singleLine = SqlStatementCounter.selects();
+        createOrderWithLines(10);
+        int tenLines = SqlStatementCounter.selects();
+        createOrderWithLines(200);
+        int twoHundredLines = SqlStatementCounter.selects();
+
+        assertEquals(singleLine, tenLines);
+        assertEquals(singleLine, twoHundredLines);
+    }
+
+    @Test
+    void createOrder_insertsAreBatched() {
+        createOrderWithLines(100);
+
+        // one statement for the order, one batched statement reused for all order items and one for the outbox event
+        assertEquals(3, SqlStatementCounter.inserts());
+    }
+
+    @Test
+    void getOrderView_readsFiftyItemOrderWithTwoQueries() {
+        createOrderWithLines(50);
+        Long orderId = orderService.getOrdersByUser(user.getId(), null, 1).orders().get(0).id();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        OrderView order = orderService.getOrderView(orderId);
+
+        assertEquals(50, order.items().size());
+        assertEquals(2, SqlStatementCounter.total());
+    }
+
+    @Test
+    void getOrdersByUser_pagesWithTwoQueriesPerPage() {
+        for (int i = 0; i < 5; i++) {
+            createOrderWithLines(20);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            SqlStatementCounter.reset();
+            OrderPage page = orderService.getOrdersByUser(user.getId(), cursor, 2);
+            assertEquals(2, SqlStatementCounter.selects());
+
+            page.orders().forEach(order -> assertEquals(20, order.items().size()));
+            page.orders().forEach(order -> seen.add(order.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(5, seen.size());
+        assertEquals(5, seen.stream().distinct().count());
+    }
+
+    @Test
+    void changeStatuses_changesChunkWithOneReadAndOneUpdate() {
+        for (int i = 0; i < 5; i++) {
+            createOrderWithLines(2);
+        }
+        List<Long> ids = orderService.getOrdersByUser(user.getId(), null, 5).orders().stream()
+                .map(OrderView::id)
+                .toList();
+        orderStatusService.changeStatuses(ids.subList(0, 3), OrderStatus.PAID);
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        StatusChangeResponse response = orderStatusService.changeStatuses(ids, OrderStatus.SHIPPED);
+        entityManager.flush();
+
+        assertEquals(3, response.changed());
+        assertEquals(ids.subList(3, 5), response.unchangedIds());
+        assertEquals(1, SqlStatementCounter.selects());
+        assertEquals(1, SqlStatementCounter.updates());
+        assertEquals(1, SqlStatementCounter.inserts());
+        assertEquals(OrderStatus.SHIPPED, orderService.getOrderView(ids.get(0)).status());
+        assertEquals(OrderStatus.CREATED, orderService.getOrderView(ids.get(4)).status());
+    }
+
+    /**
+     * Creates an order with the given number of lines against a cold persistence context,
+     * recording only the statements issued by the order creation itself.
+     */
+    private void createOrderWithLines(int lines) {
+        CreateOrderRequest request = new CreateOrderRequest(user.getId(), products.subList(0, lines).stream()
+                .map(p -> new OrderItemRequest(p.getId(), 1))
+                .toList());
+
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        orderService.createOrder(request);
+        entityManager.flush();
+    }
+}
@@ -4,14 +4,25 @@ import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.Limit;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.*;
 import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.InsufficientStockException;
+import org.whiletrue.ordermanagementsystem.Domain.Models.BulkOrderResult;
 import org.whiletrue.ordermanagementsystem.Domain.Models.CreateOrderRequest;
 import org.whiletrue.ordermanagementsystem.Domain.Models.OrderItemRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderItemView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderPage;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
+import org.whiletrue.ordermanagementsystem.Repository.OrderEventRepository;
+import org.whiletrue.ordermanagementsystem.Repository.OrderItemRepository;
 import org.whiletrue.ordermanagementsystem.Repository.OrderRepository;
 import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
 import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +36,16 @@ class OrderServiceTest {
     private UserRepository userRepository;
     @Mock
     private ProductRepository productRepository;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+    @Mock
+    private OrderEventRepository orderEventRepository;
+    @Mock
+    private OrderStatusService orderStatusService;
+    @Mock
+    private OrderSummaryService orderSummaryService;
+    @Spy
+    private ProductCatalogCache catalogCache = new ProductCatalogCache(100, Duration.ofMinutes(5));
 
     @InjectMocks
     private OrderService orderService;
@@ -41,13 +62,13 @@ class OrderServiceTest {
         int quantity = 2;
 
         User mockUser = User.builder().id(userId).build();
-        Product mockProduct = Product.builder().id(productId).build();
+        Product mockProduct = Product.builder().id(productId).price(new BigDecimal("4.25")).build();
 
         OrderItemRequest itemRequest = new OrderItemRequest(productId, quantity);
         CreateOrderRequest request = new CreateOrderRequest(userId, List.of(itemRequest));
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-        when(productRepository.findById(productId)).thenReturn(Optional.of(mockProduct));
+        when(productRepository.findAllById(Set.of(productId))).thenReturn(List.of(mockProduct));
         when(orderRepository.save(any(Order.class))).thenAnswer(i -> {
             Order o = i.getArgument(0);
             o.setId(100L); // mock generated ID
@@ -61,6 +82,97 @@ class OrderServiceTest {
         assertEquals(1, result.getItems().size());
         assertEquals(mockUser, result.getUser());
         assertEquals(100L, result.getId());
+        assertEquals(new BigDecimal("4.25"), result.getItems().get(0).getUnitPrice());
+        assertEquals(new BigDecimal("8.50"), result.getTotalAmount());
+        assertEquals(2, result.getItemCount());
+        verify(orderEventRepository).save(argThat(event -> event.getOrderId().equals(100L)
+                && event.getUserId().equals(userId)
+                && event.getStatus() == OrderStatus.CREATED));
+    }
+
+    @Test
+    void createOrder_readsCachedProductsWithoutQuery() {
+        Long userId = 1L;
+        User mockUser = User.builder().id(userId).build();
+        Product cached = Product.builder().id(10L).name("Cached").build();
+        catalogCache.put(cached);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
+        when(orderRepository.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+
+        Order result = orderService.createOrder(new CreateOrderRequest(userId, List.of(new OrderItemRequest(10L, 1))));
+
+        assertSame(cached, result.getItems().get(0).getProduct());
+        verify(productRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void createOrder_reservesTrackedStockInProductOrder() {
+        User mockUser = User.builder().id(1L).build();
+        Product tracked = Product.builder().id(20L).price(BigDecimal.ONE).stock(10).build();
+        Product otherTracked = Product.builder().id(10L).price(BigDecimal.ONE).stock(10).build();
+        Product untracked = Product.builder().id(30L).price(BigDecimal.ONE).build();
+        CreateOrderRequest request = new CreateOrderRequest(1L, List.of(
+                new OrderItemRequest(20L, 2),
+                new OrderItemRequest(30L, 1),
+                new OrderItemRequest(10L, 1),
+                new OrderItemRequest(20L, 3)));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
+        when(productRepository.findAllById(Set.of(10L, 20L, 30L))).thenReturn(List.of(tracked, otherTracked, untracked));
+        when(productRepository.findTrackedIds(Set.of(10L, 20L, 30L))).thenReturn(Set.of(10L, 20L));
+        when(orderRepository.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+        when(productRepository.reserveStock(anyLong(), anyInt())).thenReturn(1);
+
+        Order result = orderService.createOrder(request);
+
+        InOrder inOrder = inOrder(orderRepository, orderEventRepository, orderSummaryService, productRepository);
+        inOrder.verify(orderEventRepository).save(any());
+        inOrder.verify(orderSummaryService).recordCreated(anyCollection());
+        inOrder.verify(orderRepository).flush();
+        inOrder.verify(productRepository).reserveStock(10L, 1);
+        inOrder.verify(productRepository).reserveStock(20L, 5);
+        verify(productRepository, never()).reserveStock(eq(30L), anyInt());
+        assertEquals(Arrays.asList(2, null, 1, 3),
+                result.getItems().stream().map(OrderItem::getReservedQuantity).toList());
+    }
+
+    @Test
+    void createOrder_reservesStockTrackedAfterProductWasCached() {
+        User mockUser = User.builder().id(1L).build();
+        Product cachedUntracked = Product.builder().id(10L).price(BigDecimal.ONE).build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
+        when(productRepository.findAllById(Set.of(10L))).thenReturn(List.of(cachedUntracked));
+        when(productRepository.findTrackedIds(Set.of(10L))).thenReturn(Set.of(10L));
+        when(orderRepository.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+        when(productRepository.reserveStock(10L, 3)).thenReturn(0);
+
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> orderService.createOrder(new CreateOrderRequest(1L, List.of(new OrderItemRequest(10L, 3)))));
+
+        assertEquals(10L, exception.getProductId());
+    }
+
+    @Test
+    void createOrder_insufficientStockReleasesEarlierReservations() {
+        User mockUser = User.builder().id(1L).build();
+        Product first = Product.builder().id(10L).stock(5).build();
+        Product second = Product.builder().id(11L).stock(0).build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(mockUser));
+        when(productRepository.findAllById(Set.of(10L, 11L))).thenReturn(List.of(first, second));
+        when(productRepository.findTrackedIds(Set.of(10L, 11L))).thenReturn(Set.of(10L, 11L));
+        when(orderRepository.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+        when(productRepository.reserveStock(10L, 2)).thenReturn(1);
+        when(productRepository.reserveStock(11L, 1)).thenReturn(0);
+
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> orderService.createOrder(new CreateOrderRequest(1L, List.of(
+                        new OrderItemRequest(10L, 2), new OrderItemRequest(11L, 1)))));
+
+        assertEquals(11L, exception.getProductId());
+        verify(productRepository).releaseStock(10L, 2);
     }
 
     @Test
@@ -83,11 +195,99 @@ class OrderServiceTest {
         CreateOrderRequest request = new CreateOrderRequest(userId, List.of(itemRequest));
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-        when(productRepository.findById(productId)).thenReturn(Optional.empty());
+        when(productRepository.findAllById(Set.of(productId))).thenReturn(List.of());
 
         assertThrows(EntityNotFoundException.class, () -> orderService.createOrder(request));
     }
 
+    @Test
+    void createOrder_reportsAllMissingProducts() {
+        Long userId = 1L;
+
+        User mockUser = User.builder().id(userId).build();
+        Product existing = Product.builder().id(10L).build();
+        CreateOrderRequest request = new CreateOrderRequest(userId, List.of(
+                new OrderItemRequest(10L, 1),
+                new OrderItemRequest(11L, 1),
+                new OrderItemRequest(12L, 1)
+        ));
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
+        when(productRepository.findAllById(Set.of(10L, 11L, 12L))).thenReturn(List.of(existing));
+
+        EntityNotFoundException ex = assertThrows(EntityNotFoundException.class,
+                () -> orderService.createOrder(request));
+
+        assertTrue(ex.getMessage().contains("11"));
+        assertTrue(ex.getMessage().contains("12"));
+        verify(productRepository, never()).findById(anyLong());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void createOrders_sharesLookupsAcrossChunk() {
+        User firstUser = User.builder().id(1L).build();
+        User secondUser = User.builder().id(2L).build();
+        Product product = Product.builder().id(10L).build();
+
+        Map<Integer, CreateOrderRequest> chunk = new LinkedHashMap<>();
+        chunk.put(0, new CreateOrderRequest(1L, List.of(new OrderItemRequest(10L, 1))));
+        chunk.put(1, new CreateOrderRequest(2L, List.of(new OrderItemRequest(10L, 3))));
+        chunk.put(2, new CreateOrderRequest(3L, List.of(new OrderItemRequest(10L, 1))));
+        chunk.put(3, new CreateOrderRequest(1L, List.of(new OrderItemRequest(11L, 1))));
+
+        when(userRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(firstUser, secondUser));
+        when(productRepository.findAllById(Set.of(10L, 11L))).thenReturn(List.of(product));
+        when(orderRepository.saveAll(anyCollection())).thenAnswer(i -> {
+            long id = 100L;
+            for (Order o : i.<Collection<Order>>getArgument(0)) {
+                o.setId(id++);
+            }
+            return List.of();
+        });
+
+        List<BulkOrderResult> results = orderService.createOrders(chunk);
+
+        assertEquals(4, results.size());
+        assertEquals(100L, results.get(0).orderId());
+        assertEquals(101L, results.get(1).orderId());
+        assertEquals("User not found: 3", results.get(2).error());
+        assertEquals("Products not found: [11]", results.get(3).error());
+        verify(userRepository, times(1)).findAllById(anyIterable());
+        verify(productRepository, times(1)).findAllById(anyIterable());
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void createOrders_reservesWholeChunkInProductOrder() {
+        User user = User.builder().id(1L).build();
+        Product low = Product.builder().id(10L).price(BigDecimal.ONE).stock(10).build();
+        Product high = Product.builder().id(20L).price(BigDecimal.ONE).stock(10).build();
+
+        Map<Integer, CreateOrderRequest> chunk = new LinkedHashMap<>();
+        chunk.put(0, new CreateOrderRequest(1L, List.of(new OrderItemRequest(20L, 1), new OrderItemRequest(10L, 1))));
+        chunk.put(1, new CreateOrderRequest(1L, List.of(new OrderItemRequest(10L, 2))));
+        chunk.put(2, new CreateOrderRequest(1L, List.of(new OrderItemRequest(20L, 4))));
+
+        when(userRepository.findAllById(Set.of(1L))).thenReturn(List.of(user));
+        when(productRepository.findAllById(Set.of(10L, 20L))).thenReturn(List.of(low, high));
+        when(productRepository.findTrackedIds(Set.of(10L, 20L))).thenReturn(Set.of(10L, 20L));
+        when(productRepository.reserveStock(anyLong(), anyInt())).thenReturn(1);
+        when(productRepository.reserveStock(20L, 1)).thenReturn(0);
+
+        List<BulkOrderResult> results = orderService.createOrders(chunk);
+
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).reserveStock(10L, 1);
+        inOrder.verify(productRepository).reserveStock(10L, 2);
+        inOrder.verify(productRepository).reserveStock(20L, 1);
+        inOrder.verify(productRepository).releaseStock(10L, 1);
+        inOrder.verify(productRepository).reserveStock(20L, 4);
+        assertEquals("Insufficient stock for product: 20", results.get(0).error());
+        assertNull(results.get(1).error());
+        assertNull(results.get(2).error());
+    }
+
     @Test
     void getOrder_found() {
         Long orderId = 1L;
@@ -109,32 +309,85 @@ class OrderServiceTest {
     }
 
     @Test
-    void cancelOrder_success() {
+    void getOrderView_found() {
         Long orderId = 1L;
-        Order mockOrder = Order.builder().id(orderId).status(OrderStatus.CREATED).build();
+        OrderView mockView = new OrderView(orderId, 5L, OrderStatus.CREATED, LocalDateTime.now(), BigDecimal.TEN, 1);
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(mockOrder));
-        when(orderRepository.save(any(Order.class))).thenReturn(mockOrder);
+        when(orderRepository.findViewById(orderId)).thenReturn(Optional.of(mockView));
+        when(orderItemRepository.findViewsByOrderIds(List.of(orderId))).thenReturn(List.of(
+                new OrderItemView(orderId, 10L, 20L, "A", BigDecimal.ONE, 3)
+        ));
 
-        orderService.cancelOrder(orderId);
+        OrderView result = orderService.getOrderView(orderId);
 
-        assertEquals(OrderStatus.CANCELLED, mockOrder.getStatus());
-        verify(orderRepository).save(mockOrder);
+        assertEquals(orderId, result.id());
+        assertEquals(1, result.items().size());
+        verify(orderRepository, never()).findById(anyLong());
     }
 
     @Test
-    void getOrdersByUser_returnsList() {
+    void getOrderView_notFound() {
+        when(orderRepository.findViewById(404L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> orderService.getOrderView(404L));
+        verifyNoInteractions(orderItemRepository);
+    }
+
+    @Test
+    void cancelOrder_delegatesToStatusTransition() {
+        orderService.cancelOrder(1L);
+
+        verify(orderStatusService).changeStatus(1L, OrderStatus.CANCELLED);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getOrdersByUser_returnsFirstPageWithItems() {
         Long userId = 1L;
-        List<Order> mockOrders = List.of(
-                Order.builder().id(1L).build(),
-                Order.builder().id(2L).build()
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<OrderView> mockOrders = List.of(
+                new OrderView(3L, userId, OrderStatus.CREATED, now, BigDecimal.TEN, 1),
+                new OrderView(2L, userId, OrderStatus.CREATED, now.minusHours(1), BigDecimal.TEN, 1),
+                new OrderView(1L, userId, OrderStatus.CANCELLED, now.minusHours(2), BigDecimal.TEN, 1)
         );
 
-        when(orderRepository.findByUserId(userId)).thenReturn(mockOrders);
+        when(orderRepository.findViewsByUser(userId, Limit.of(3))).thenReturn(mockOrders);
+        when(orderItemRepository.findViewsByOrderIds(List.of(3L, 2L))).thenReturn(List.of(
+                new OrderItemView(3L, 30L, 10L, "A", BigDecimal.ONE, 1),
+                new OrderItemView(3L, 31L, 11L, "B", BigDecimal.TEN, 2)
+        ));
+
+        OrderPage result = orderService.getOrdersByUser(userId, null, 2);
+
+        assertEquals(2, result.orders().size());
+        assertEquals(2, result.orders().get(0).items().size());
+        assertTrue(result.orders().get(1).items().isEmpty());
+        assertNotNull(result.nextCursor());
+    }
+
+    @Test
+    void getOrdersByUser_followsCursor() {
+        Long userId = 1L;
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 11, 0);
+        when(orderRepository.findViewsByUser(userId, Limit.of(2))).thenReturn(List.of(
+                new OrderView(3L, userId, OrderStatus.CREATED, createdAt.plusHours(1), BigDecimal.TEN, 1),
+                new OrderView(2L, userId, OrderStatus.CREATED, createdAt, BigDecimal.TEN, 1)
+        ));
+        String cursor = orderService.getOrdersByUser(userId, null, 1).nextCursor();
 
-        List<Order> result = orderService.getOrdersByUser(userId);
+        when(orderRepository.findViewsByUserBefore(userId, createdAt.plusHours(1), 3L, Limit.of(2)))
+                .thenReturn(List.of(new OrderView(2L, userId, OrderStatus.CREATED, createdAt, BigDecimal.TEN, 1)));
 
-        assertEquals(2, result.size());
-        verify(orderRepository).findByUserId(userId);
+        OrderPage result = orderService.getOrdersByUser(userId, cursor, 1);
+
+        assertEquals(1, result.orders().size());
+        assertEquals(2L, result.orders().get(0).id());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void getOrdersByUser_rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.getOrdersByUser(1L, "not-a-cursor", 20));
+        verifyNoInteractions(orderRepository);
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.InvalidStatusTransitionException;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.ReservedStockView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.StatusChangeResponse;
+import org.whiletrue.ordermanagementsystem.Repository.OrderEventRepository;
+import org.whiletrue.ordermanagementsystem.Repository.OrderItemRepository;
+import org.whiletrue.ordermanagementsystem.Repository.OrderRepository;
+import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrderStatusServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderItemRepository orderItemRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private OrderEventRepository orderEventRepository;
+    @Mock
+    private OrderSummaryService orderSummaryService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderStatusService orderStatusService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        orderStatusService = new OrderStatusService(orderRepository, orderItemRepository, productRepository,
+                orderEventRepository, orderSummaryService, transactionManager, 2);
+    }
+
+    @Test
+    void allowedPredecessors_defineLifecycle() {
+        assertEquals(Set.of(), OrderStatus.CREATED.allowedPredecessors());
+        assertEquals(Set.of(OrderStatus.CREATED), OrderStatus.PAID.allowedPredecessors());
+        assertEquals(Set.of(OrderStatus.PAID), OrderStatus.SHIPPED.allowedPredecessors());
+        assertEquals(Set.of(OrderStatus.CREATED, OrderStatus.PAID), OrderStatus.CANCELLED.allowedPredecessors());
+    }
+
+    @Test
+    void changeStatus_success() {
+        when(orderRepository.lockViewsByIdsAndStatus(List.of(1L), Set.of(OrderStatus.CREATED)))
+                .thenReturn(List.of(view(1L, OrderStatus.CREATED)));
+
+        orderStatusService.changeStatus(1L, OrderStatus.PAID);
+
+        verify(orderRepository).changeStatuses(List.of(1L), Set.of(OrderStatus.CREATED), OrderStatus.PAID);
+        verify(orderEventRepository).saveAll(argThat(events -> events.iterator().next().getStatus() == OrderStatus.PAID));
+        verify(orderSummaryService).recordStatusChange(
+                argThat(orders -> orders.iterator().next().status() == OrderStatus.CREATED), eq(OrderStatus.PAID));
+        verifyNoInteractions(productRepository);
+        verify(orderRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void changeStatus_cancelReleasesStockInProductOrder() {
+        when(orderRepository.lockViewsByIdsAndStatus(List.of(1L), Set.of(OrderStatus.CREATED, OrderStatus.PAID)))
+                .thenReturn(List.of(view(1L, OrderStatus.PAID)));
+        when(orderItemRepository.findReservedStockByOrderIds(List.of(1L))).thenReturn(List.of(
+                new ReservedStockView(10L, 2L),
+                new ReservedStockView(11L, 4L)));
+
+        orderStatusService.changeStatus(1L, OrderStatus.CANCELLED);
+
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).releaseStock(10L, 2);
+        inOrder.verify(productRepository).releaseStock(11L, 4);
+        verify(orderEventRepository).saveAll(argThat(events ->
+                events.iterator().next().getStatus() == OrderStatus.CANCELLED));
+    }
+
+    @Test
+    void changeStatus_alreadyInTargetIsNoOp() {
+        when(orderRepository.lockViewsByIdsAndStatus(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(orderRepository.findViewById(1L)).thenReturn(Optional.of(view(1L, OrderStatus.CANCELLED)));
+
+        orderStatusService.changeStatus(1L, OrderStatus.CANCELLED);
+
+        verifyNoInteractions(productRepository, orderEventRepository, orderSummaryService);
+    }
+
+    @Test
+    void changeStatus_rejectsTransitionNotAllowed() {
+        when(orderRepository.lockViewsByIdsAndStatus(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(orderRepository.findViewById(1L)).thenReturn(Optional.of(view(1L, OrderStatus.SHIPPED)));
+
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> orderStatusService.changeStatus(1L, OrderStatus.CANCELLED));
+        verifyNoInteractions(productRepository, orderEventRepository, orderSummaryService);
+    }
+
+    @Test
+    void changeStatus_orderNotFound() {
+        when(orderRepository.findViewById(404L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> orderStatusService.changeStatus(404L, OrderStatus.PAID));
+    }
+
+    @Test
+    void changeStatus_createdIsNeverATarget() {
+        when(orderRepository.findViewById(1L)).thenReturn(Optional.of(view(1L, OrderStatus.PAID)));
+
+        assertThrows(InvalidStatusTransitionException.class,
+                () -> orderStatusService.changeStatus(1L, OrderStatus.CREATED));
+        verify(orderRepository, never()).changeStatuses(anyCollection(), anyCollection(), any());
+    }
+
+    @Test
+    void changeStatuses_processesChunksAndReportsUnchanged() {
+        Set<OrderStatus> from = Set.of(OrderStatus.PAID);
+        when(orderRepository.lockViewsByIdsAndStatus(List.of(1L, 2L), from))
+                .thenReturn(List.of(view(1L, OrderStatus.PAID), view(2L, OrderStatus.PAID)));
+        when(orderRepository.lockViewsByIdsAndStatus(List.of(3L, 4L), from))
+                .thenReturn(List.of(view(4L, OrderStatus.PAID)));
+        when(orderRepository.lockViewsByIdsAndStatus(List.of(5L), from)).thenReturn(List.of());
+
+        StatusChangeResponse response = orderStatusService.changeStatuses(List.of(1L, 2L, 2L, 3L, 4L, 5L),
+                OrderStatus.SHIPPED);
+
+        assertEquals(new StatusChangeResponse(OrderStatus.SHIPPED, 5, 3, List.of(3L, 5L)), response);
+        verify(orderRepository).changeStatuses(List.of(1L, 2L), from, OrderStatus.SHIPPED);
+        verify(orderRepository).changeStatuses(List.of(4L), from, OrderStatus.SHIPPED);
+        verify(orderRepository, times(2)).changeStatuses(anyCollection(), anyCollection(), any());
+        verify(orderEventRepository, times(2)).saveAll(anyIterable());
+    }
+
+    private static OrderView view(Long id, OrderStatus status) {
+        return new OrderView(id, 5L, status, LocalDateTime.now(), BigDecimal.TEN, 1);
+    }
+}
@@ -0,0 +1,169 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Order;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.UserOrderStats;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Domain.Models.CreateOrderRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.DailyRevenueView;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderItemRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderStatusSummary;
+import org.whiletrue.ordermanagementsystem.Domain.Models.UserOrderStatsPage;
+import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+import org.whiletrue.ordermanagementsystem.Support.SqlStatementCounter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "orders.summary.stripes=4")
+@ActiveProfiles("test")
+@Import({OrderService.class, OrderStatusService.class, OrderSummaryService.class, ProductCatalogCache.class})
+class OrderSummaryServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderStatusService orderStatusService;
+    @Autowired
+    private OrderSummaryService orderSummaryService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+
+    private User alice;
+    private User bob;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        alice = userRepository.save(user("alice@example.com"));
+        bob = userRepository.save(user("bob@example.com"));
+        product = productRepository.save(Product.builder().name("Product").price(new BigDecimal("2.50")).build());
+    }
+
+    @Test
+    void summaries_followOrderLifecycle() {
+        Order first = order(alice, 4);
+        Order second = order(alice, 2);
+        Order third = order(bob, 1);
+
+        orderStatusService.changeStatus(first.getId(), OrderStatus.PAID);
+        orderStatusService.changeStatuses(List.of(first.getId()), OrderStatus.SHIPPED);
+        orderService.cancelOrder(second.getId());
+        orderService.cancelOrder(second.getId());
+
+        OrderStatusSummary statuses = orderSummaryService.getStatusSummary();
+        assertEquals(Map.of(OrderStatus.CREATED, 1L, OrderStatus.PAID, 0L,
+                OrderStatus.SHIPPED, 1L, OrderStatus.CANCELLED, 1L), statuses.orders());
+        assertEquals(3, statuses.total());
+
+        UserOrderStats aliceStats = orderSummaryService.getUserStats(alice.getId());
+        assertEquals(2, aliceStats.getOrderCount());
+        assertEquals(1, aliceStats.getCancelledCount());
+        assertEquals(0, new BigDecimal("10.00").compareTo(aliceStats.getTotalAmount()));
+
+        LocalDate today = third.getCreatedAt().toLocalDate();
+        List<DailyRevenueView> revenue = orderSummaryService.getDailyRevenue(today.minusDays(1), today);
+        assertEquals(2, revenue.size());
+        assertEquals(new DailyRevenueView(today.minusDays(1), 0L, BigDecimal.ZERO), revenue.get(0));
+        assertEquals(2, revenue.get(1).orders());
+        assertEquals(0, new BigDecimal("12.50").compareTo(revenue.get(1).revenue()));
+    }
+
+    @Test
+    void rebuild_matchesIncrementalSummaries() {
+        order(alice, 4);
+        Order cancelled = order(alice, 2);
+        Order paid = order(bob, 1);
+        orderService.cancelOrder(cancelled.getId());
+        orderStatusService.changeStatus(paid.getId(), OrderStatus.PAID);
+        LocalDate today = paid.getCreatedAt().toLocalDate();
+
+        OrderStatusSummary incremental = orderSummaryService.getStatusSummary();
+        UserOrderStatsPage users = orderSummaryService.getUserStatsAfter(null, 10);
+        List<DailyRevenueView> revenue = orderSummaryService.getDailyRevenue(today, today);
+
+        assertEquals(incremental, orderSummaryService.rebuild());
+        assertEquals(users.users().size(), orderSummaryService.getUserStatsAfter(null, 10).users().size());
+        for (UserOrderStats stats : users.users()) {
+            UserOrderStats rebuilt = orderSummaryService.getUserStats(stats.getUserId());
+            assertEquals(stats.getOrderCount(), rebuilt.getOrderCount());
+            assertEquals(stats.getCancelledCount(), rebuilt.getCancelledCount());
+            assertEquals(0, stats.getTotalAmount().compareTo(rebuilt.getTotalAmount()));
+        }
+        DailyRevenueView rebuiltDay = orderSummaryService.getDailyRevenue(today, today).get(0);
+        assertEquals(revenue.get(0).orders(), rebuiltDay.orders());
+        assertEquals(0, revenue.get(0).revenue().compareTo(rebuiltDay.revenue()));
+    }
+
+    @Test
+    void getStatusSummary_readsAggregatesOnly() {
+        for (int i = 0; i < 20; i++) {
+            order(i % 2 == 0 ? alice : bob, 1);
+        }
+        SqlStatementCounter.reset();
+
+        assertEquals(20, orderSummaryService.getStatusSummary().total());
+        assertEquals(2, orderSummaryService.getUserStatsAfter(null, 10).users().size());
+
+        assertEquals(2, SqlStatementCounter.total());
+    }
+
+    @Test
+    void getUserStatsAfter_pagesByUserId() {
+        order(alice, 1);
+        order(bob, 1);
+
+        UserOrderStatsPage first = orderSummaryService.getUserStatsAfter(null, 1);
+        UserOrderStatsPage second = orderSummaryService.getUserStatsAfter(first.lastUserId(), 1);
+
+        assertTrue(first.hasNext());
+        assertFalse(second.hasNext());
+        assertEquals(alice.getId(), first.users().get(0).getUserId());
+        assertEquals(bob.getId(), second.users().get(0).getUserId());
+    }
+
+    @Test
+    void getUserStats_userWithoutOrdersHasZeros() {
+        UserOrderStats stats = orderSummaryService.getUserStats(bob.getId());
+
+        assertEquals(0, stats.getOrderCount());
+        assertEquals(BigDecimal.ZERO, stats.getTotalAmount());
+    }
+
+    @Test
+    void getDailyRevenue_rejectsInvalidRange() {
+        LocalDate today = LocalDate.now();
+
+        assertThrows(IllegalArgumentException.class, () -> orderSummaryService.getDailyRevenue(today, today.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> orderSummaryService.getDailyRevenue(today.minusYears(2), today));
+    }
+
+    private Order order(User user, int quantity) {
+        return orderService.createOrder(new CreateOrderRequest(user.getId(),
+                List.of(new OrderItemRequest(product.getId(), quantity))));
+    }
+
+    private static User user(String email) {
+        return User.builder()
+                .name("Buyer")
+                .email(email)
+                .password("secret")
+                .role(Role.ROLE_USER)
+                .build();
+    }
+}
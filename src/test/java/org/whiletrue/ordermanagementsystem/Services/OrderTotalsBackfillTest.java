@@ -0,0 +1,87 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Order;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.OrderItem;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Repository.OrderItemRepository;
+import org.whiletrue.ordermanagementsystem.Repository.OrderRepository;
+import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class OrderTotalsBackfillTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void backfill_computesTotalsForLegacyOrders() {
+        User user = userRepository.save(User.builder()
+                .name("Legacy").email("legacy@example.com").password("secret").role(Role.ROLE_USER).build());
+        Product cheap = productRepository.save(Product.builder().name("Cheap").price(new BigDecimal("2.50")).build());
+        Product pricey = productRepository.save(Product.builder().name("Pricey").price(new BigDecimal("10.00")).build());
+
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            orderIds.add(saveLegacyOrder(user, List.of(legacyItem(cheap, i), legacyItem(pricey, 1))).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        int updated = new OrderTotalsBackfill(orderRepository, orderItemRepository, transactionManager, 2).backfill();
+
+        assertEquals(5, updated);
+        Order third = orderRepository.findById(orderIds.get(2)).orElseThrow();
+        assertEquals(0, new BigDecimal("17.50").compareTo(third.getTotalAmount()));
+        assertEquals(4, third.getItemCount());
+        third.getItems().forEach(item -> assertNotNull(item.getUnitPrice()));
+        assertNull(orderRepository.findMinIdWithoutTotals());
+    }
+
+    @Test
+    void backfill_nothingToDo() {
+        assertEquals(0, new OrderTotalsBackfill(orderRepository, orderItemRepository, transactionManager, 2).backfill());
+    }
+
+    private Order saveLegacyOrder(User user, List<OrderItem> items) {
+        Order order = Order.builder()
+                .user(user)
+                .status(OrderStatus.CREATED)
+                .createdAt(LocalDateTime.now())
+                .items(items)
+                .build();
+        items.forEach(item -> item.setOrder(order));
+        return orderRepository.save(order);
+    }
+
+    private static OrderItem legacyItem(Product product, int quantity) {
+        return OrderItem.builder().product(product).quantity(quantity).build();
+    }
+}
@@ -0,0 +1,86 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.junit.jupiter.api.Test;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Models.CatalogCacheStats;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCatalogCacheTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private final List<Set<Long>> loadedIds = new ArrayList<>();
+
+    @Test
+    void getAllById_loadsOnlyMissingProducts() {
+        ProductCatalogCache cache = new ProductCatalogCache(10, Duration.ofMinutes(5), clock);
+
+        cache.getAllById(Set.of(1L, 2L), this::load);
+        Map<Long, Product> result = cache.getAllById(Set.of(1L, 2L, 3L), this::load);
+
+        assertEquals(3, result.size());
+        assertEquals(List.of(Set.of(1L, 2L), Set.of(3L)), loadedIds);
+        CatalogCacheStats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(3, stats.misses());
+        assertEquals(2, stats.loads());
+        assertEquals(0.4, stats.hitRatio(), 1e-9);
+    }
+
+    @Test
+    void getAllById_omitsProductsThatDoNotExist() {
+        ProductCatalogCache cache = new ProductCatalogCache(10, Duration.ofMinutes(5), clock);
+
+        Map<Long, Product> result = cache.getAllById(Set.of(1L, 404L), ids -> load(Set.of(1L)));
+
+        assertEquals(Set.of(1L), result.keySet());
+    }
+
+    @Test
+    void getAllById_keepsAtMostMaxSizeProducts() {
+        ProductCatalogCache cache = new ProductCatalogCache(2, Duration.ofMinutes(5), clock);
+
+        cache.getAllById(Set.of(1L, 2L, 3L), this::load);
+
+        assertEquals(2, cache.stats().size());
+    }
+
+    @Test
+    void getAll_listingLargerThanMaxSizeIsNotCached() {
+        ProductCatalogCache cache = new ProductCatalogCache(2, Duration.ofMinutes(5), clock);
+
+        cache.getAll(() -> load(Set.of(1L, 2L, 3L)));
+        cache.getAll(() -> load(Set.of(1L, 2L, 3L)));
+
+        assertEquals(2, loadedIds.size());
+    }
+
+    @Test
+    void evict_dropsProductAndListing() {
+        ProductCatalogCache cache = new ProductCatalogCache(10, Duration.ofMinutes(5), clock);
+        cache.getAll(() -> load(Set.of(1L, 2L)));
+
+        cache.evict(1L);
+        cache.getAllById(Set.of(1L, 2L), this::load);
+        cache.getAll(() -> load(Set.of(2L)));
+
+        assertEquals(List.of(Set.of(1L, 2L), Set.of(1L), Set.of(2L)), loadedIds);
+    }
+
+    private List<Product> load(Set<Long> ids) {
+        loadedIds.add(Set.copyOf(ids));
+        return ids.stream()
+                .map(id -> Product.builder().id(id).name("Product " + id).price(BigDecimal.ONE).build())
+                .toList();
+    }
+}
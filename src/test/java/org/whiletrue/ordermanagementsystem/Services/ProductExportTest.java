@@ -0,0 +1,55 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ProductExportTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void exportProducts_writesJsonArrayAndDetachesEntities() throws Exception {
+        productRepository.saveAll(IntStream.rangeClosed(1, 1_000)
+                .mapToObj(i -> Product.builder().name("Product " + i).price(BigDecimal.ONE).build())
+                .toList());
+        entityManager.flush();
+        entityManager.clear();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ProductService productService = new ProductService(productRepository,
+                new ProductCatalogCache(10, Duration.ofMinutes(5)), new ProductSearchIndex(), entityManager,
+                objectMapper, new OptimisticLockRetry(TransactionOperations.withoutTransaction(), 1, Duration.ZERO));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        productService.exportProducts(out);
+
+        JsonNode exported = objectMapper.readTree(out.toByteArray());
+        assertTrue(exported.isArray());
+        assertEquals(1_000, exported.size());
+        assertEquals("Product 1", exported.get(0).get("name").asText());
+        assertEquals("Product 1000", exported.get(999).get("name").asText());
+        assertEquals(0, entityManager.unwrap(Session.class)
+                .getStatistics().getEntityCount());
+    }
+}
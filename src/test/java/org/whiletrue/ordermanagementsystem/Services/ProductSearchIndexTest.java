@@ -0,0 +1,88 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.whiletrue.ordermanagementsystem.Domain.Models.ProductNameView;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new ProductSearchIndex();
+        index.rebuild(() -> List.of(
+                new ProductNameView(1L, "Red Running Shoe"),
+                new ProductNameView(2L, "Blue Shoe"),
+                new ProductNameView(3L, "Shoelace, red"),
+                new ProductNameView(4L, "Crème Brûlée Set"),
+                new ProductNameView(5L, "Red Wine Glass")));
+    }
+
+    @Test
+    void search_matchesLastWordAsPrefix() {
+        assertEquals(List.of(2L, 3L, 1L), index.search("sho", 10));
+        assertEquals(List.of(2L, 1L, 3L), index.search("shoe", 10));
+    }
+
+    @Test
+    void search_requiresEveryWord() {
+        assertEquals(List.of(1L, 3L), index.search("red shoe", 10));
+        assertEquals(List.of(1L), index.search("RED-running s", 10));
+        assertTrue(index.search("green sho", 10).isEmpty());
+    }
+
+    @Test
+    void search_ignoresCaseAndAccents() {
+        assertEquals(List.of(4L), index.search("creme brul", 10));
+        assertEquals(List.of(4L), index.search("CRÈME", 10));
+    }
+
+    @Test
+    void search_appliesLimitAfterRanking() {
+        assertEquals(List.of(2L), index.search("sho", 1));
+        assertTrue(index.search("", 10).isEmpty());
+        assertTrue(index.search("  , ", 10).isEmpty());
+    }
+
+    @Test
+    void index_replacesAndRemovesNames() {
+        index.index(2L, "Green Boot");
+        index.index(6L, "Shoe Polish");
+        index.remove(1L);
+
+        assertEquals(List.of(3L, 6L), index.search("sho", 10));
+        assertEquals(List.of(2L), index.search("boot", 10));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void rebuild_keepsChangesMadeWhileLoading() {
+        int size = index.rebuild(() -> {
+            index.index(7L, "Added While Loading");
+            index.remove(2L);
+            return List.of(new ProductNameView(2L, "Blue Shoe"), new ProductNameView(3L, "Shoelace, red"));
+        });
+
+        assertEquals(2, size);
+        assertEquals(List.of(7L), index.search("load", 10));
+        assertEquals(List.of(3L), index.search("sho", 10));
+    }
+
+    @Test
+    void search_largeCatalogUsesPostingsOnly() {
+        index.rebuild(() -> IntStream.rangeClosed(1, 100_000)
+                .mapToObj(i -> new ProductNameView((long) i, "Product " + i + (i % 1000 == 0 ? " special" : "")))
+                .toList());
+
+        assertEquals(List.of(1000L, 2000L, 3000L), index.search("product spec", 3));
+        assertEquals(List.of(4242L), index.search("4242", 1));
+        assertEquals(11, index.search("4242", 20).size());
+        assertEquals(100_000, index.size());
+    }
+}
@@ -1,14 +1,28 @@
 package org.whiletrue.ordermanagementsystem.Services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.ConcurrentUpdateException;
 import org.whiletrue.ordermanagementsystem.Domain.Models.CreateProductRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.ProductPage;
+import org.whiletrue.ordermanagementsystem.Domain.Models.UpdateProductRequest;
 import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -17,6 +31,17 @@ class ProductServiceTest {
 
     @Mock
     private ProductRepository productRepository;
+    @Spy
+    private ProductCatalogCache catalogCache = new ProductCatalogCache(100, Duration.ofMinutes(5));
+    @Spy
+    private ProductSearchIndex searchIndex = new ProductSearchIndex();
+    @Mock
+    private EntityManager entityManager;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Spy
+    private OptimisticLockRetry optimisticLockRetry =
+            new OptimisticLockRetry(TransactionOperations.withoutTransaction(), 3, Duration.ZERO);
 
     @InjectMocks
     private ProductService productService;
@@ -29,7 +54,7 @@ class ProductServiceTest {
     @Test
     void addProduct_success() {
         // Arrange
-        CreateProductRequest request = new CreateProductRequest("Test Product", new BigDecimal("49.99"));
+        CreateProductRequest request = new CreateProductRequest("Test Product", new BigDecimal("49.99"), null);
         Product mockProduct = Product.builder()
                 .id(1L)
                 .name("Test Product")
@@ -69,6 +94,42 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findAll();
     }
 
+    @Test
+    void getProducts_returnsSliceOrderedById() {
+        // Arrange
+        List<Product> content = List.of(
+                Product.builder().id(3L).name("C").price(new BigDecimal("10.00")).build(),
+                Product.builder().id(4L).name("D").price(new BigDecimal("20.00")).build()
+        );
+        Pageable pageable = PageRequest.of(1, 2, Sort.by("id"));
+        when(productRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(content, pageable, true));
+
+        // Act
+        ProductPage result = productService.getProducts(1, 2);
+
+        // Assert
+        assertEquals(2, result.products().size());
+        assertTrue(result.hasNext());
+        assertEquals(4L, result.lastId());
+    }
+
+    @Test
+    void getProductsAfter_usesKeysetAndDetectsLastPage() {
+        // Arrange
+        List<Product> content = List.of(
+                Product.builder().id(11L).name("K").price(new BigDecimal("10.00")).build()
+        );
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(3))).thenReturn(content);
+
+        // Act
+        ProductPage result = productService.getProductsAfter(10L, 2);
+
+        // Assert
+        assertEquals(1, result.products().size());
+        assertFalse(result.hasNext());
+        assertEquals(11L, result.lastId());
+    }
+
     @Test
     void deleteProduct_success() {
         // Arrange
@@ -79,5 +140,96 @@ class ProductServiceTest {
 
         // Assert
         verify(productRepository, times(1)).deleteById(productId);
+        verify(catalogCache, times(1)).evict(productId);
+    }
+
+    @Test
+    void getAllProducts_secondCallIsServedFromCache() {
+        // Arrange
+        when(productRepository.findAll()).thenReturn(List.of(
+                Product.builder().id(1L).name("A").price(new BigDecimal("10.00")).build()
+        ));
+
+        // Act
+        productService.getAllProducts();
+        List<Product> result = productService.getAllProducts();
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(productRepository, times(1)).findAll();
+        assertEquals(1, productService.getCatalogCacheStats().hits());
+    }
+
+    @Test
+    void addProduct_invalidatesCachedListing() {
+        // Arrange
+        Product existing = Product.builder().id(1L).name("A").price(new BigDecimal("10.00")).build();
+        Product added = Product.builder().id(2L).name("B").price(new BigDecimal("20.00")).build();
+        when(productRepository.findAll()).thenReturn(List.of(existing), List.of(existing, added));
+        when(productRepository.save(any(Product.class))).thenReturn(added);
+
+        // Act
+        productService.getAllProducts();
+        productService.addProduct(new CreateProductRequest("B", new BigDecimal("20.00"), null));
+        List<Product> result = productService.getAllProducts();
+
+        // Assert
+        assertEquals(2, result.size());
+        verify(productRepository, times(2)).findAll();
+    }
+
+    @Test
+    void updateProduct_retriesAfterConcurrentChange() {
+        // Arrange
+        when(productRepository.findById(1L)).thenAnswer(invocation -> Optional.of(
+                Product.builder().id(1L).name("A").price(new BigDecimal("10.00")).stock(5).version(3L).build()));
+        when(productRepository.saveAndFlush(any(Product.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 1L))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Product result = productService.updateProduct(1L, new UpdateProductRequest("B", new BigDecimal("12.00")));
+
+        // Assert
+        assertEquals("B", result.getName());
+        verify(productRepository, times(2)).findById(1L);
+        assertEquals(1, optimisticLockRetry.conflicts());
+    }
+
+    @Test
+    void updateProduct_givesUpAfterMaxAttempts() {
+        // Arrange
+        when(productRepository.findById(1L)).thenAnswer(invocation -> Optional.of(
+                Product.builder().id(1L).name("A").price(new BigDecimal("10.00")).build()));
+        when(productRepository.saveAndFlush(any(Product.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 1L));
+
+        // Act & Assert
+        assertThrows(ConcurrentUpdateException.class,
+                () -> productService.updateProduct(1L, new UpdateProductRequest("B", new BigDecimal("12.00"))));
+        verify(productRepository, times(3)).saveAndFlush(any(Product.class));
+        verify(catalogCache, never()).put(any(Product.class));
+    }
+
+    @Test
+    void searchProducts_followsAddedRenamedAndDeletedProducts() {
+        // Arrange
+        Product added = Product.builder().id(1L).name("Red Shoe").price(new BigDecimal("10.00")).build();
+        when(productRepository.save(any(Product.class))).thenReturn(added);
+        when(productRepository.findById(1L)).thenAnswer(invocation -> Optional.of(
+                Product.builder().id(1L).name("Red Shoe").price(new BigDecimal("10.00")).build()));
+        when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act & Assert
+        productService.addProduct(new CreateProductRequest("Red Shoe", new BigDecimal("10.00"), null));
+        assertEquals(List.of(added), productService.searchProducts("sho", 10));
+
+        productService.updateProduct(1L, new UpdateProductRequest("Blue Boot", new BigDecimal("10.00")));
+        assertTrue(productService.searchProducts("sho", 10).isEmpty());
+        assertEquals("Blue Boot", productService.searchProducts("blue b", 10).get(0).getName());
+
+        productService.deleteProduct(1L);
+        assertTrue(productService.searchProducts("blue", 10).isEmpty());
+        verify(productRepository, never()).findAllById(any());
     }
-}
\ No newline at end of file
+}
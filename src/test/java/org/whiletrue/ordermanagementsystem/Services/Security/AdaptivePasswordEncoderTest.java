@@ -0,0 +1,113 @@
+package org.whiletrue.ordermanagementsystem.Services.Security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.PasswordHashingBusyException;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdaptivePasswordEncoderTest {
+
+    private AdaptivePasswordEncoder encoder;
+
+    @AfterEach
+    void shutdown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void encode_hashesWithConfiguredStrength() {
+        encoder = new AdaptivePasswordEncoder(new BCryptPasswordEncoder(4), 4, 1, 1);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void upgradeEncoding_detectsLowerStrengthOnly() {
+        encoder = new AdaptivePasswordEncoder(new BCryptPasswordEncoder(5), 5, 1, 1);
+
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(encoder.upgradeEncoding("plain"));
+    }
+
+    @Test
+    void calibrate_staysWithinBounds() {
+        assertEquals(AdaptivePasswordEncoder.MIN_STRENGTH, AdaptivePasswordEncoder.calibrate(Duration.ofNanos(1)));
+        assertEquals(AdaptivePasswordEncoder.MAX_STRENGTH, AdaptivePasswordEncoder.calibrate(Duration.ofDays(1)));
+    }
+
+    @Test
+    void encode_rejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = mock(PasswordEncoder.class);
+        when(blocking.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+        encoder = new AdaptivePasswordEncoder(blocking, 10, 1, 1);
+
+        Thread running = Thread.ofVirtual().start(() -> encoder.encode("first"));
+        started.await();
+        Thread queued = Thread.ofVirtual().start(() -> encoder.encode("second"));
+        while (encoder.queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("third"));
+        assertEquals(1, encoder.rejected());
+
+        release.countDown();
+        running.join();
+        queued.join();
+        verify(blocking, times(2)).encode(any());
+    }
+
+    @Test
+    void authenticate_rehashesPasswordStoredWithLowerStrength() {
+        encoder = new AdaptivePasswordEncoder(new BCryptPasswordEncoder(5), 5, 1, 1);
+        User user = User.builder()
+                .id(1L)
+                .name("Alice")
+                .email("alice@example.com")
+                .password(new BCryptPasswordEncoder(4).encode("secret"))
+                .role(Role.ROLE_USER)
+                .build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(user));
+        PrincipalCache principalCache = mock(PrincipalCache.class);
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(userRepository, principalCache);
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+        provider.setPasswordEncoder(encoder);
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("alice@example.com", "secret"));
+
+        verify(userRepository).updatePassword(eq("alice@example.com"), argThat(hash -> hash.startsWith("$2a$05$")));
+        verify(principalCache).evict("alice@example.com");
+        assertTrue(user.getPassword().startsWith("$2a$05$"));
+    }
+}
@@ -0,0 +1,92 @@
+package org.whiletrue.ordermanagementsystem.Services.Security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secret", "testverysecuritykey");
+        ReflectionTestUtils.setField(jwtService, "expiration", Duration.ofHours(3));
+
+        user = User.builder()
+                .id(7L)
+                .email("user@example.com")
+                .password("hash")
+                .role(Role.ROLE_ADMIN)
+                .build();
+    }
+
+    @Test
+    void parseToken_returnsSubject() {
+        String token = jwtService.generateToken(user);
+
+        Claims claims = jwtService.parseToken(token);
+
+        assertEquals("user@example.com", claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, user));
+        assertEquals("user@example.com", jwtService.extractUsername(token));
+    }
+
+    @Test
+    void principalFromClaims_disabledByDefault() {
+        Claims claims = jwtService.parseToken(jwtService.generateToken(user));
+
+        assertTrue(jwtService.principalFromClaims(claims).isEmpty());
+        assertNull(claims.get(JwtService.USER_ID_CLAIM));
+    }
+
+    @Test
+    void principalFromClaims_statelessModeCarriesIdAndRole() {
+        ReflectionTestUtils.setField(jwtService, "stateless", true);
+        Claims claims = jwtService.parseToken(jwtService.generateToken(user));
+
+        Optional<UserDetails> principal = jwtService.principalFromClaims(claims);
+
+        assertTrue(principal.isPresent());
+        User restored = (User) principal.get();
+        assertEquals(7L, restored.getId());
+        assertEquals("user@example.com", restored.getUsername());
+        assertEquals(Role.ROLE_ADMIN, restored.getRole());
+        assertNull(restored.getPassword());
+    }
+
+    @Test
+    void principalFromClaims_ignoresTokensIssuedWithoutClaims() {
+        Claims claims = jwtService.parseToken(jwtService.generateToken(user));
+        ReflectionTestUtils.setField(jwtService, "stateless", true);
+
+        assertTrue(jwtService.principalFromClaims(claims).isEmpty());
+    }
+
+    @Test
+    void parseToken_recordsParseTimeByOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtService timedService = new JwtService(registry);
+        ReflectionTestUtils.setField(timedService, "secret", "testverysecuritykey");
+        ReflectionTestUtils.setField(timedService, "expiration", Duration.ofHours(3));
+
+        timedService.parseToken(timedService.generateToken(user));
+        assertThrows(JwtException.class, () -> timedService.parseToken("not-a-token"));
+
+        assertEquals(1, registry.get("jwt.parse").tag("outcome", "valid").timer().count());
+        assertEquals(1, registry.get("jwt.parse").tag("outcome", "invalid").timer().count());
+    }
+}
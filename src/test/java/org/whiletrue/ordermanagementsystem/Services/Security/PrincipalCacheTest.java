@@ -0,0 +1,119 @@
+package org.whiletrue.ordermanagementsystem.Services.Security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Models.Security.PrincipalCacheStats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private MutableClock clock;
+    private AtomicInteger loads;
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    void setup() {
+        clock = new MutableClock();
+        loads = new AtomicInteger();
+        loader = username -> {
+            loads.incrementAndGet();
+            return User.builder().email(username).build();
+        };
+    }
+
+    @Test
+    void get_repeatedLookupHitsCache() {
+        PrincipalCache cache = new PrincipalCache(10, Duration.ofSeconds(60), clock);
+
+        UserDetails first = cache.get("a@example.com", loader);
+        UserDetails second = cache.get("a@example.com", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(new PrincipalCacheStats(1, 1, 1), cache.stats());
+    }
+
+    @Test
+    void get_evictionDuringLoadIsNotOverwritten() {
+        PrincipalCache cache = new PrincipalCache(10, Duration.ofSeconds(60), clock);
+
+        cache.get("a@example.com", username -> {
+            cache.evict(username);
+            return loader.apply(username);
+        });
+        cache.get("a@example.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_expiredEntryIsReloaded() {
+        PrincipalCache cache = new PrincipalCache(10, Duration.ofSeconds(60), clock);
+
+        cache.get("a@example.com", loader);
+        clock.advance(Duration.ofSeconds(61));
+        cache.get("a@example.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_leastRecentlyUsedEntryIsDroppedWhenFull() {
+        PrincipalCache cache = new PrincipalCache(2, Duration.ofSeconds(60), clock);
+
+        cache.get("a@example.com", loader);
+        cache.get("b@example.com", loader);
+        cache.get("a@example.com", loader);
+        cache.get("c@example.com", loader);
+        cache.get("b@example.com", loader);
+
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.stats().size());
+    }
+
+    @Test
+    void evict_forcesReload() {
+        PrincipalCache cache = new PrincipalCache(10, Duration.ofSeconds(60), clock);
+
+        cache.get("a@example.com", loader);
+        cache.evict("a@example.com");
+        cache.get("a@example.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.whiletrue.ordermanagementsystem.Services.Security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Domain.Models.Security.RefreshedSession;
+import org.whiletrue.ordermanagementsystem.Repository.RefreshTokenRepository;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, userRepository, Duration.ofDays(30));
+        user = userRepository.save(User.builder()
+                .name("Refresh").email("refresh@example.com").password("secret").role(Role.ROLE_USER).build());
+    }
+
+    @Test
+    void rotate_issuesNewTokenAndUsesUpTheOldOne() {
+        String token = refreshTokenService.issue(user);
+
+        RefreshedSession session = refreshTokenService.rotate(token);
+
+        assertEquals(user.getId(), session.user().getId());
+        assertNotEquals(token, session.refreshToken());
+        assertNotNull(refreshTokenService.rotate(session.refreshToken()).refreshToken());
+        assertEquals(3, refreshTokenRepository.count());
+    }
+
+    @Test
+    void rotate_reusedTokenRevokesItsFamily() {
+        String stolen = refreshTokenService.issue(user);
+        String other = refreshTokenService.issue(user);
+        String current = refreshTokenService.rotate(stolen).refreshToken();
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(stolen));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(current));
+        assertNotNull(refreshTokenService.rotate(other).refreshToken());
+    }
+
+    @Test
+    void rotate_rejectsUnknownAndExpiredTokens() {
+        RefreshTokenService expired = new RefreshTokenService(refreshTokenRepository, userRepository, Duration.ofSeconds(-1));
+        String token = expired.issue(user);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("unknown"));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(token));
+
+        refreshTokenService.purgeExpired();
+        assertEquals(0, refreshTokenRepository.count());
+    }
+
+    @Test
+    void revoke_endsTheSession() {
+        String token = refreshTokenService.issue(user);
+        String current = refreshTokenService.rotate(token).refreshToken();
+
+        refreshTokenService.revoke(current);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(current));
+        assertEquals(0, refreshTokenRepository.count());
+    }
+
+    @Test
+    void revokeAll_endsEverySessionOfTheUser() {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.issue(user);
+
+        refreshTokenService.revokeAll(user.getId());
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(first));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate(second));
+    }
+}
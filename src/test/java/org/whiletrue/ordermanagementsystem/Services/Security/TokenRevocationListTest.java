@@ -0,0 +1,48 @@
+package org.whiletrue.ordermanagementsystem.Services.Security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationListTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00.500Z");
+
+    private final TokenRevocationList revocationList =
+            new TokenRevocationList(Duration.ofHours(3), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void isRevoked_tokenIssuedBeforeRevocation() {
+        revocationList.revoke("user@example.com");
+
+        assertTrue(revocationList.isRevoked(claims("user@example.com", NOW.minusSeconds(60))));
+    }
+
+    @Test
+    void isRevoked_tokenIssuedAfterRevocationIsAccepted() {
+        revocationList.revoke("user@example.com");
+
+        assertFalse(revocationList.isRevoked(claims("user@example.com", NOW.plusSeconds(1))));
+    }
+
+    @Test
+    void isRevoked_otherSubjectsAreUnaffected() {
+        revocationList.revoke("user@example.com");
+
+        assertFalse(revocationList.isRevoked(claims("other@example.com", NOW.minusSeconds(60))));
+    }
+
+    private static Claims claims(String subject, Instant issuedAt) {
+        return new DefaultClaims()
+                .setSubject(subject)
+                .setIssuedAt(Date.from(issuedAt));
+    }
+}
@@ -0,0 +1,219 @@
+package org.whiletrue.ordermanagementsystem.Services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Order;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.Product;
+import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.OrderStatus;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
+import org.whiletrue.ordermanagementsystem.Domain.Exceptions.InsufficientStockException;
+import org.whiletrue.ordermanagementsystem.Domain.Models.CreateOrderRequest;
+import org.whiletrue.ordermanagementsystem.Domain.Models.OrderItemRequest;
+import org.whiletrue.ordermanagementsystem.Repository.OrderEventRepository;
+import org.whiletrue.ordermanagementsystem.Repository.OrderItemRepository;
+import org.whiletrue.ordermanagementsystem.Repository.OrderRepository;
+import org.whiletrue.ordermanagementsystem.Repository.ProductRepository;
+import org.whiletrue.ordermanagementsystem.Repository.UserOrderStatsRepository;
+import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs many concurrent buyers against one product with limited stock. Every test commits
+ * for real, since the reservations of concurrent transactions are what is under test.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderService.class, OrderStatusService.class, OrderSummaryService.class, ProductCatalogCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationConcurrencyTest.class);
+    private static final int BUYERS = 200;
+    private static final int STOCK = 50;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderSummaryService orderSummaryService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserOrderStatsRepository userOrderStatsRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        orderEventRepository.deleteAllInBatch();
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createOrder_neverOversellsHotProduct() throws Exception {
+        User user = userRepository.save(User.builder()
+                .name("Buyer")
+                .email("buyer@example.com")
+                .password("secret")
+                .role(Role.ROLE_USER)
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Hot")
+                .price(BigDecimal.TEN)
+                .stock(STOCK)
+                .build());
+        CreateOrderRequest request = new CreateOrderRequest(user.getId(),
+                List.of(new OrderItemRequest(product.getId(), 1)));
+        // H2 runs the summary upserts as MERGE, which unlike ON CONFLICT on PostgreSQL fails when
+        // two transactions insert the same new row, so the buyer's rows are created up front.
+        orderSummaryService.createSlots();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userOrderStatsRepository.add(user.getId(), 0, 0, BigDecimal.ZERO));
+        long createdBefore = orderSummaryService.getStatusSummary().orders().get(OrderStatus.CREATED);
+
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> buyers = new ArrayList<>();
+
+        long elapsed;
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            for (int i = 0; i < BUYERS; i++) {
+                buyers.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.createOrder(request);
+                        created.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        soldOut.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> buyer : buyers) {
+                buyer.get();
+            }
+            elapsed = System.nanoTime() - begin;
+        }
+
+        logger.info("{} buyers on one product: {} orders created, {} sold out, {} orders/s",
+                BUYERS, created.get(), soldOut.get(), String.format("%.0f", BUYERS / (elapsed / 1_000_000_000.0)));
+
+        assertEquals(STOCK, created.get());
+        assertEquals(BUYERS - STOCK, soldOut.get());
+        assertEquals(STOCK, orderRepository.count());
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getStock());
+        assertEquals(STOCK, orderEventRepository.count());
+        assertEquals(createdBefore + STOCK, orderSummaryService.getStatusSummary().orders().get(OrderStatus.CREATED));
+        assertEquals(STOCK, orderSummaryService.getUserStats(user.getId()).getOrderCount());
+    }
+
+    @Test
+    void cancelOrder_returnsStockOnce() {
+        User user = userRepository.save(User.builder()
+                .name("Buyer")
+                .email("buyer@example.com")
+                .password("secret")
+                .role(Role.ROLE_USER)
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Hot")
+                .price(BigDecimal.TEN)
+                .stock(3)
+                .build());
+
+        Order order = orderService.createOrder(new CreateOrderRequest(user.getId(),
+                List.of(new OrderItemRequest(product.getId(), 2))));
+        assertEquals(1, productRepository.findById(product.getId()).orElseThrow().getStock());
+
+        orderService.cancelOrder(order.getId());
+        orderService.cancelOrder(order.getId());
+
+        assertEquals(3, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void cancelOrder_returnsNothingForOrderPlacedWhileUntracked() {
+        User user = userRepository.save(User.builder()
+                .name("Buyer")
+                .email("buyer@example.com")
+                .password("secret")
+                .role(Role.ROLE_USER)
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Hot")
+                .price(BigDecimal.TEN)
+                .build());
+
+        Order order = orderService.createOrder(new CreateOrderRequest(user.getId(),
+                List.of(new OrderItemRequest(product.getId(), 2))));
+        Product tracked = productRepository.findById(product.getId()).orElseThrow();
+        tracked.setStock(5);
+        productRepository.save(tracked);
+
+        orderService.cancelOrder(order.getId());
+
+        assertEquals(5, productRepository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void staleProductSave_cannotUndoReservation() {
+        User user = userRepository.save(User.builder()
+                .name("Buyer")
+                .email("buyer@example.com")
+                .password("secret")
+                .role(Role.ROLE_USER)
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Hot")
+                .price(BigDecimal.TEN)
+                .stock(3)
+                .build());
+        Product stale = productRepository.findById(product.getId()).orElseThrow();
+
+        orderService.createOrder(new CreateOrderRequest(user.getId(),
+                List.of(new OrderItemRequest(product.getId(), 2))));
+        stale.setPrice(BigDecimal.ONE);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> productRepository.save(stale));
+        Product current = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals(1, current.getStock());
+        assertEquals(BigDecimal.TEN.setScale(2), current.getPrice().setScale(2));
+        assertEquals(stale.getVersion() + 1, current.getVersion());
+    }
+}
@@ -4,7 +4,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.whiletrue.ordermanagementsystem.Domain.Entity.User;
+import org.whiletrue.ordermanagementsystem.Domain.Enums.Role;
 import org.whiletrue.ordermanagementsystem.Repository.UserRepository;
+import org.whiletrue.ordermanagementsystem.Services.Security.PrincipalCache;
+import org.whiletrue.ordermanagementsystem.Services.Security.RefreshTokenService;
+import org.whiletrue.ordermanagementsystem.Services.Security.TokenRevocationList;
 
 import java.util.Optional;
 
@@ -15,6 +19,12 @@ class UserServiceTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private PrincipalCache principalCache;
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+    @Mock
+    private RefreshTokenService refreshTokenService;
 
     @InjectMocks
     private UserService userService;
@@ -66,4 +76,52 @@ class UserServiceTest {
         // Assert
         verify(userRepository, times(1)).deleteById(userId);
     }
+
+    @Test
+    void deleteUser_evictsCachedPrincipal() {
+        // Arrange
+        Long userId = 1L;
+        User mockUser = User.builder().id(userId).email("user@example.com").build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
+
+        // Act
+        userService.deleteUser(userId);
+
+        // Assert
+        verify(principalCache, times(1)).evict("user@example.com");
+        verify(tokenRevocationList, times(1)).revoke("user@example.com");
+        verify(refreshTokenService, times(1)).revokeAll(userId);
+        verify(userRepository, times(1)).deleteById(userId);
+    }
+
+    @Test
+    void changeRole_updatesRoleAndEvictsCachedPrincipal() {
+        // Arrange
+        Long userId = 1L;
+        User mockUser = User.builder().id(userId).email("user@example.com").role(Role.ROLE_USER).build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
+        when(userRepository.save(mockUser)).thenReturn(mockUser);
+
+        // Act
+        Optional<User> result = userService.changeRole(userId, Role.ROLE_ADMIN);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(Role.ROLE_ADMIN, result.get().getRole());
+        verify(principalCache, times(1)).evict("user@example.com");
+        verify(tokenRevocationList, times(1)).revoke("user@example.com");
+    }
+
+    @Test
+    void changeRole_userDoesNotExist_returnsEmptyOptional() {
+        // Arrange
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<User> result = userService.changeRole(999L, Role.ROLE_ADMIN);
+
+        // Assert
+        assertFalse(result.isPresent());
+        verify(principalCache, never()).evict(anyString());
+    }
 }
\ No newline at end of file
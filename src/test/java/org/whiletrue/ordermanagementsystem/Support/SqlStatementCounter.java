@@ -0,0 +1,63 @@
+package org.whiletrue.ordermanagementsystem.Support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hibernate {@link StatementInspector} that records every SQL statement prepared by the
+ * session factory, so tests can assert how many round-trips an operation issues.
+ * <p>
+ * Registered through {@code hibernate.session_factory.statement_inspector} in the test profile.
+ * A batched statement is prepared once and reused for every batch, so it is recorded only once.
+ * Recording is cheap enough to stay on during load tests; counting walks all recorded statements.
+ * Statements of scheduled background jobs are not recorded, since they may run at any moment and
+ * are not part of the operation under test.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final Queue<String> statements = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public String inspect(String sql) {
+        if (!Thread.currentThread().getName().startsWith("scheduling-")) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        statements.clear();
+    }
+
+    public static int total() {
+        return statements.size();
+    }
+
+    public static int selects() {
+        return count("select") - sequenceCalls();
+    }
+
+    public static int sequenceCalls() {
+        return (int) statements.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.contains("nextval") || sql.contains("next value for"))
+                .count();
+    }
+
+    public static int inserts() {
+        return count("insert");
+    }
+
+    public static int updates() {
+        return count("update");
+    }
+
+    private static int count(String keyword) {
+        return (int) statements.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(keyword))
+                .count();
+    }
+}